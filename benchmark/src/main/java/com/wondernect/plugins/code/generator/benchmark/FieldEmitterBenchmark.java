@@ -0,0 +1,41 @@
+package com.wondernect.plugins.code.generator.benchmark;
+
+import com.wondernect.plugins.code.generator.DtoFieldEmitter;
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求、响应DTO字段部分的生成，包含注解的导入登记
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldEmitterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private List<EntityField> fields;
+
+    @Setup
+    public void setup() {
+        fields = SyntheticEntities.model(fieldCount).getFields();
+    }
+
+    @Benchmark
+    public String requestFields() {
+        return DtoFieldEmitter.requestFields(fields, new JavaSourceWriter().fragment(1));
+    }
+
+    @Benchmark
+    public String responseFields() {
+        return DtoFieldEmitter.responseFields(fields, new JavaSourceWriter().fragment(1));
+    }
+}
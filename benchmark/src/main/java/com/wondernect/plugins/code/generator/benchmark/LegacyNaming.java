@@ -0,0 +1,64 @@
+package com.wondernect.plugins.code.generator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 改用NamingService之前的命名转换写法，作为对比基线：逐段substring后用concat拼接
+ **/
+final class LegacyNaming {
+
+    static String firstLetterToUpper(String str) {
+        if (isBlank(str)) {
+            return "";
+        }
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+
+    static String firstLetterToLower(String str) {
+        if (isBlank(str)) {
+            return "";
+        }
+        return str.substring(0, 1).toLowerCase() + str.substring(1);
+    }
+
+    static String toUnderLineStr(String str) {
+        return firstLetterToLower(splitByCharacterTypeCamelCase(str).stream()
+                .reduce((s1, s2) -> s1.toLowerCase().concat("_").concat(s2.toLowerCase())).orElse(""));
+    }
+
+    private static boolean isBlank(String str) {
+        return null == str || str.trim().isEmpty();
+    }
+
+    /**
+     * 按字符类型拆分驼峰字符串，大写字母后紧跟小写字母时该大写字母归入后一段，如HTTPServer拆分为HTTP、Server
+     */
+    private static List<String> splitByCharacterTypeCamelCase(String str) {
+        List<String> tokens = new ArrayList<>();
+        if (str.isEmpty()) {
+            return tokens;
+        }
+        int tokenStart = 0;
+        int currentType = Character.getType(str.charAt(0));
+        for (int position = 1; position < str.length(); position++) {
+            int type = Character.getType(str.charAt(position));
+            if (type == currentType) {
+                continue;
+            }
+            if (type == Character.LOWERCASE_LETTER && currentType == Character.UPPERCASE_LETTER) {
+                int newTokenStart = position - 1;
+                if (newTokenStart != tokenStart) {
+                    tokens.add(str.substring(tokenStart, newTokenStart));
+                    tokenStart = newTokenStart;
+                }
+            } else {
+                tokens.add(str.substring(tokenStart, position));
+                tokenStart = position;
+            }
+            currentType = type;
+        }
+        tokens.add(str.substring(tokenStart));
+        return tokens;
+    }
+}
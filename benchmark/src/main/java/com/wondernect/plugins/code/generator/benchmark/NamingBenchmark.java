@@ -0,0 +1,80 @@
+package com.wondernect.plugins.code.generator.benchmark;
+
+import com.wondernect.plugins.code.generator.util.NamingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 命名转换：每次调用处理一个实体的全部字段名，legacy为改用NamingService之前的写法
+ * 加上-prof gc运行可对比每次调用的分配字节数(gc.alloc.rate.norm)
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private String[] names;
+    // 首字母大写的名称，如UserName
+    private String[] typeNames;
+    private NamingService namingService;
+
+    @Setup
+    public void setup() {
+        names = SyntheticEntities.fieldNames(fieldCount);
+        typeNames = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            typeNames[i] = LegacyNaming.firstLetterToUpper(names[i]);
+        }
+        namingService = NamingService.getInstance();
+    }
+
+    @Benchmark
+    public void toUnderLineStr(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(namingService.toUnderLineStr(name));
+        }
+    }
+
+    @Benchmark
+    public void toUnderLineStrLegacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNaming.toUnderLineStr(name));
+        }
+    }
+
+    @Benchmark
+    public void firstLetterToUpper(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(namingService.firstLetterToUpper(name));
+        }
+    }
+
+    @Benchmark
+    public void firstLetterToUpperLegacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNaming.firstLetterToUpper(name));
+        }
+    }
+
+    @Benchmark
+    public void firstLetterToLower(Blackhole blackhole) {
+        for (String typeName : typeNames) {
+            blackhole.consume(namingService.firstLetterToLower(typeName));
+        }
+    }
+
+    @Benchmark
+    public void firstLetterToLowerLegacy(Blackhole blackhole) {
+        for (String typeName : typeNames) {
+            blackhole.consume(LegacyNaming.firstLetterToLower(typeName));
+        }
+    }
+}
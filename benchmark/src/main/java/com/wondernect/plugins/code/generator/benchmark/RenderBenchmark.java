@@ -0,0 +1,81 @@
+package com.wondernect.plugins.code.generator.benchmark;
+
+import com.wondernect.plugins.code.generator.CrudSourceRenderer;
+import com.wondernect.plugins.code.generator.EntityClass;
+import com.wondernect.plugins.code.generator.ExcelItemHandlerRenderer;
+import com.wondernect.plugins.code.generator.GeneratedSource;
+import com.wondernect.plugins.code.generator.model.EntityModel;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfile;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfiles;
+import com.wondernect.plugins.code.generator.template.TemplateEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用内置模板与base基础模型渲染，基础类名按原样解析，不含写入文件与格式化
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private TemplateEngine templateEngine;
+    private BaseModelProfile profile;
+    private EntityModel entityModel;
+    // 已渲染过一次的实体，各层类名已确定，供单独渲染controller
+    private EntityClass renderedEntityClass;
+
+    @Setup
+    public void setup() {
+        templateEngine = TemplateEngine.of(null);
+        profile = BaseModelProfiles.of(null).get("base");
+        entityModel = SyntheticEntities.model(fieldCount);
+        renderedEntityClass = newEntityClass();
+        newCrudSourceRenderer().render(renderedEntityClass);
+    }
+
+    /**
+     * controller模板渲染
+     */
+    @Benchmark
+    public String controller() {
+        Map<String, Object> context = renderedEntityClass.toTemplateContext();
+        profile.fillTemplateContext(context);
+        return templateEngine.render("controller", context);
+    }
+
+    /**
+     * 每个字段一个excel item handler
+     */
+    @Benchmark
+    public List<GeneratedSource> excelItemHandlers() {
+        return new ExcelItemHandlerRenderer(templateEngine, null).render(newEntityClass());
+    }
+
+    /**
+     * 一个实体的全部CRUD源码
+     */
+    @Benchmark
+    public List<GeneratedSource> crud() {
+        return newCrudSourceRenderer().render(newEntityClass());
+    }
+
+    private CrudSourceRenderer newCrudSourceRenderer() {
+        return new CrudSourceRenderer(templateEngine, profile, className -> className, null);
+    }
+
+    private EntityClass newEntityClass() {
+        EntityClass entityClass = new EntityClass("author", "v1", "demo");
+        entityClass.setEntityModel(entityModel);
+        return entityClass;
+    }
+}
@@ -0,0 +1,53 @@
+package com.wondernect.plugins.code.generator.benchmark;
+
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.model.EntityModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准用的合成实体，字段名与类型按固定规则轮换，同样的字段数每次得到相同的实体
+ **/
+final class SyntheticEntities {
+
+    private static final String[] PREFIXES = {"user", "order", "createTime", "lastUpdate", "total", "isEnabled", "sortIndex", "remark"};
+    private static final String[] SUFFIXES = {"Name", "Id", "At", "Count", "Amount", "Status", "Value", "Code"};
+    private static final String[] TYPES = {
+            "java.lang.String", "java.lang.Long", "java.lang.Integer", "java.lang.Boolean",
+            "java.time.LocalDateTime", "java.time.LocalDate", "java.math.BigDecimal", "com.demo.model.user.UserType"
+    };
+
+    private SyntheticEntities() {
+    }
+
+    /**
+     * 第一个字段为String主键，其余字段类型轮换，字符串字段带长度，每三个字段有一个非空
+     */
+    static EntityModel model(int fieldCount) {
+        List<EntityField> fields = new ArrayList<>(fieldCount);
+        fields.add(new EntityField("id", "java.lang.String", true, "主键", 32, false));
+        for (int i = 1; i < fieldCount; i++) {
+            String type = TYPES[i % TYPES.length];
+            Integer length = "java.lang.String".equals(type) ? 64 : null;
+            fields.add(new EntityField(fieldName(i), type, false, "字段" + i, length, i % 3 != 0));
+        }
+        return new EntityModel("User", "com.demo.model.user.User", "用户", fields);
+    }
+
+    /**
+     * 驼峰字段名，如userName、orderName、userId
+     */
+    static String fieldName(int index) {
+        String name = PREFIXES[index % PREFIXES.length] + SUFFIXES[(index / PREFIXES.length) % SUFFIXES.length];
+        return index < PREFIXES.length * SUFFIXES.length ? name : name + index;
+    }
+
+    static String[] fieldNames(int fieldCount) {
+        String[] names = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            names[i] = fieldName(i);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,107 @@
+package com.wondernect.plugins.code.generator.benchmark;
+
+import com.wondernect.plugins.code.generator.DtoFieldEmitter;
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.model.TemporalKind;
+import com.wondernect.plugins.code.generator.template.TemplateEngine;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模板渲染与原字符串拼接方式的对比
+ * 分别生成10/100/500/1000个字段的请求DTO，两种写法的字段部分都在计时范围内：
+ * 原写法逐字段content = content + ...拼接，新写法由DtoFieldEmitter写入JavaSourceWriter片段后嵌入模板并生成导入
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+    @Param({"10", "100", "500", "1000"})
+    public int fieldCount;
+
+    private TemplateEngine templateEngine;
+    private List<EntityField> fields;
+
+    @Setup
+    public void setup() {
+        templateEngine = TemplateEngine.of(null);
+        fields = SyntheticEntities.model(fieldCount).getFields();
+    }
+
+    /**
+     * 原生成器的写法，原来的导入由IDE的PSI完成，不在对比范围内
+     */
+    @Benchmark
+    public String concatenation() {
+        return "/** 用户请求DTO \n * @author author 2020-06-21 23:30:00 **/" +
+                "\n@Data" +
+                "\n@NoArgsConstructor" +
+                "\n@AllArgsConstructor" +
+                "\n@ApiModel(value = \"用户请求对象\")" +
+                "\npublic class SaveUserRequestDTO {" +
+                "\n" + legacyFields(fields) +
+                "}";
+    }
+
+    /**
+     * 模板写法
+     */
+    @Benchmark
+    public String template() {
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "lombok.AllArgsConstructor",
+                "io.swagger.annotations.ApiModel"
+        );
+        Map<String, Object> context = new HashMap<>();
+        context.put("author", "author");
+        context.put("date", "2020-06-21 23:30:00");
+        context.put("entityDescription", "用户");
+        context.put("requestDTOName", "SaveUserRequestDTO");
+        context.put("fields", DtoFieldEmitter.requestFields(fields, writer.fragment(1)));
+        writer.append(templateEngine.render("request_dto", context));
+        return writer.toSource();
+    }
+
+    /**
+     * 原getFieldsContentForREQDTO的字段拼接，注解解析结果取自实体模型
+     */
+    private static String legacyFields(List<EntityField> fields) {
+        String content = "";
+        for (EntityField field : fields) {
+            if (field.isId()) {
+                continue;
+            }
+            String name = field.getName();
+            String typeName = field.getTypeName();
+            String description = field.getDescription();
+            if (null != field.getLength()) {
+                content = content + "\n@Length(max = " + field.getLength() + ", message = \"" + description + "长度不能超过" + field.getLength() + "\")";
+            }
+            if (!field.isNullable() && !typeName.toLowerCase().contains("type")) {
+                if (typeName.equals("String")) {
+                    content = content + "\n@NotBlank(message = \"" + description + "不能为空\")";
+                } else {
+                    content = content + "\n@NotNull(message = \"" + description + "不能为空\")";
+                }
+            }
+            if (field.getTemporalKind() != TemporalKind.NONE) {
+                content = content + "\n@JsonFormat(pattern = \"" + field.getTemporalKind().getPattern() + "\")";
+            }
+            content = content + "\n@JsonProperty(\"" + LegacyNaming.toUnderLineStr(name) + "\")";
+            content = content + "\n@ApiModelProperty(notes = \"" + description + "\")";
+            content = content + "\nprivate " + typeName + " " + name + ";\n";
+        }
+        return content;
+    }
+}
@@ -0,0 +1,81 @@
+package com.wondernect.plugins.code.generator.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 类名索引，代替IDE中的短名缓存：源码树中的类型优先，其次是--classpath中jar或目录里的类
+ * 线程安全，解析阶段并行写入
+ **/
+final class ClassIndex {
+
+    // 简单名 -> 全限定名，源码类型在前
+    private final ConcurrentMap<String, List<String>> classes = new ConcurrentHashMap<>();
+    private final Set<String> qualifiedNames = ConcurrentHashMap.newKeySet();
+
+    void add(String qualifiedName) {
+        if (!qualifiedNames.add(qualifiedName)) {
+            return;
+        }
+        String simpleName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        List<String> names = classes.computeIfAbsent(simpleName, key -> Collections.synchronizedList(new ArrayList<>()));
+        names.add(qualifiedName);
+    }
+
+    /**
+     * 读取jar或class目录中的顶层类
+     */
+    void addClasspathEntry(Path entry) {
+        try {
+            if (Files.isDirectory(entry)) {
+                try (Stream<Path> files = Files.walk(entry)) {
+                    files.map(file -> entry.relativize(file).toString().replace('\\', '/')).forEach(this::addClassFile);
+                }
+            } else if (Files.isRegularFile(entry)) {
+                try (ZipFile zipFile = new ZipFile(entry.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                    while (entries.hasMoreElements()) {
+                        addClassFile(entries.nextElement().getName());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取classpath " + entry + "失败", e);
+        }
+    }
+
+    private void addClassFile(String path) {
+        if (path.endsWith(".class") && !path.contains("$") && !path.endsWith("package-info.class") && !path.endsWith("module-info.class")) {
+            add(path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+        }
+    }
+
+    boolean contains(String qualifiedName) {
+        return qualifiedNames.contains(qualifiedName);
+    }
+
+    /**
+     * 简单名或全限定名解析为全限定名，找不到时返回null
+     */
+    String resolve(String className) {
+        if (className.contains(".")) {
+            // 全限定名直接使用，与IDE中配置全限定名的行为一致
+            return className;
+        }
+        List<String> names = classes.get(className);
+        if (null == names) {
+            return null;
+        }
+        synchronized (names) {
+            return names.isEmpty() ? null : names.get(0);
+        }
+    }
+}
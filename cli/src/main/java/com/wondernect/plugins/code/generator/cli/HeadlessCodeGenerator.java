@@ -0,0 +1,283 @@
+package com.wondernect.plugins.code.generator.cli;
+
+import com.wondernect.plugins.code.generator.CrudSourceRenderer;
+import com.wondernect.plugins.code.generator.EntityClass;
+import com.wondernect.plugins.code.generator.GeneratedSource;
+import com.wondernect.plugins.code.generator.model.EntityModel;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfile;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfiles;
+import com.wondernect.plugins.code.generator.template.TemplateEngine;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 命令行CRUD代码生成器，不依赖IDE，供CI在全新检出的代码上检查或重新生成样板代码
+ * 使用轻量解析器读取实体源码，套用与插件相同的基础模型配置与模板，解析与生成在所有核上并行执行
+ * 构建：在cli目录下执行mvn -B package，插件中不依赖IDE的源码与resources下的模板、基础模型一起打包为target/wondernect-code-generator-cli.jar
+ * 运行：java -jar cli/target/wondernect-code-generator-cli.jar --source src/main/java --profile base --author x --version v1 --service demo
+ **/
+public class HeadlessCodeGenerator {
+
+    private static final String USAGE = String.join("\n",
+            "参数:",
+            "  --source <dir>       实体源码根目录，可多次指定(必填)",
+            "  --profile <id>       基础模型：base、rdb、string、long或项目.wondernect/profiles下自定义的基础模型(必填)",
+            "  --author <name>      作者(必填)",
+            "  --version <version>  接口版本号(必填)",
+            "  --service <service>  服务名(必填)",
+            "  --project <dir>      项目根目录，读取.wondernect下的模板与基础模型，默认当前目录",
+            "  --classpath <path>   依赖jar或class目录，以" + File.pathSeparator + "分隔，用于解析基础类的简单名",
+            "  --threads <n>        并行线程数，默认CPU核数",
+            "  --overwrite          覆盖已存在的文件，默认跳过",
+            "  --check              只检查不写入，有缺失的生成文件时退出码为1"
+    );
+
+    private List<Path> sourceRoots = new ArrayList<>();
+    private List<Path> classpath = new ArrayList<>();
+    private String profileId;
+    private String author;
+    private String version;
+    private String service;
+    private Path projectDirectory = Paths.get("").toAbsolutePath();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean overwrite;
+    private boolean check;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger overwritten = new AtomicInteger();
+    private final AtomicInteger existing = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<String> missingFiles = Collections.synchronizedList(new ArrayList<>());
+
+    public static void main(String[] args) {
+        HeadlessCodeGenerator generator = new HeadlessCodeGenerator();
+        try {
+            generator.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        System.exit(generator.run());
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--overwrite":
+                    overwrite = true;
+                    continue;
+                case "--check":
+                    check = true;
+                    continue;
+                default:
+                    break;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("参数" + arg + "缺少值");
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--source":
+                    sourceRoots.add(Paths.get(value).toAbsolutePath());
+                    break;
+                case "--profile":
+                    profileId = value;
+                    break;
+                case "--author":
+                    author = value;
+                    break;
+                case "--version":
+                    version = value;
+                    break;
+                case "--service":
+                    service = value;
+                    break;
+                case "--project":
+                    projectDirectory = Paths.get(value).toAbsolutePath();
+                    break;
+                case "--classpath":
+                    for (String entry : value.split(File.pathSeparator)) {
+                        if (!entry.isEmpty()) {
+                            classpath.add(Paths.get(entry));
+                        }
+                    }
+                    break;
+                case "--threads":
+                    threads = Math.max(1, Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数" + arg);
+            }
+        }
+        if (sourceRoots.isEmpty() || null == profileId || null == author || null == version || null == service) {
+            throw new IllegalArgumentException("任一必填参数不能为空");
+        }
+    }
+
+    private int run() {
+        long start = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            BaseModelProfile profile = BaseModelProfiles.of(projectDirectory.toString()).get(profileId);
+            TemplateEngine templateEngine = TemplateEngine.of(projectDirectory.toString());
+            // 解析所有源码并建立类名索引，源码类型优先于classpath
+            List<SourceFile> sourceFiles = pool.submit(() -> listJavaFiles().parallelStream()
+                    .map(SourceFile::parse)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())).get();
+            ClassIndex classIndex = new ClassIndex();
+            sourceFiles.forEach(sourceFile -> classIndex.add(sourceFile.parsedClass.getQualifiedName()));
+            classpath.forEach(classIndex::addClasspathEntry);
+            List<SourceFile> entities = sourceFiles.stream()
+                    .filter(sourceFile -> SourceEntityReader.hasAnnotation(sourceFile.parsedClass, profile.getEntityAnnotation()))
+                    .collect(Collectors.toList());
+            // 各实体互不依赖，并行生成
+            pool.submit(() -> entities.parallelStream().forEach(entity -> generate(entity, profile, templateEngine, classIndex))).get();
+            System.out.println(String.format("执行完毕，共%d个实体，新建%d个文件，覆盖%d个文件，跳过%d个已存在文件，失败%d个实体，耗时%dms",
+                    entities.size(), created.get(), overwritten.get(), existing.get(), failed.get(), System.currentTimeMillis() - start));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 2;
+        } catch (ExecutionException e) {
+            System.err.println("执行失败: " + e.getCause());
+            return 2;
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        } finally {
+            pool.shutdown();
+        }
+        if (failed.get() > 0) {
+            return 2;
+        }
+        if (check && !missingFiles.isEmpty()) {
+            missingFiles.stream().sorted().forEach(file -> System.out.println("缺少: " + file));
+            return 1;
+        }
+        return 0;
+    }
+
+    private List<Path> listJavaFiles() {
+        List<Path> files = new ArrayList<>();
+        for (Path sourceRoot : sourceRoots) {
+            try (Stream<Path> stream = Files.walk(sourceRoot)) {
+                stream.filter(file -> file.toString().endsWith(".java") && Files.isRegularFile(file)).forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取源码目录" + sourceRoot + "失败", e);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 目录规则与插件一致：实体在model/entity目录下时生成到同级的repository、dto等目录，
+     * 在model/student这样的子目录下时生成到repository/student等子目录
+     */
+    private void generate(SourceFile entity, BaseModelProfile profile, TemplateEngine templateEngine, ClassIndex classIndex) {
+        String entityName = entity.parsedClass.getName();
+        try {
+            Path containerDirectory = entity.path.getParent();
+            String currentDirectory = containerDirectory.getFileName().toString();
+            if (currentDirectory.contains("model") || currentDirectory.contains("entity")) {
+                currentDirectory = null;
+            }
+            Path workDirectory = containerDirectory.getParent();
+            String workPackage = parentPackage(entity.parsedClass.getPackageName());
+            if (currentDirectory != null) {
+                workDirectory = workDirectory.getParent();
+                workPackage = parentPackage(workPackage);
+            }
+            EntityModel entityModel = SourceEntityReader.read(entity.parsedClass, classIndex);
+            EntityClass entityClass = new EntityClass(author, version, service);
+            entityClass.setEntityModel(entityModel);
+            List<GeneratedSource> sources = new CrudSourceRenderer(templateEngine, profile, classIndex::resolve, currentDirectory).render(entityClass);
+            // 同一实体生成的类互相引用，优先按生成位置解析
+            Map<String, String> generatedClasses = new HashMap<>();
+            for (GeneratedSource source : sources) {
+                generatedClasses.put(source.getClassName(), qualify(packageOf(workPackage, source.getDir()), source.getClassName()));
+            }
+            for (GeneratedSource source : sources) {
+                write(workDirectory.resolve(source.getDir()).resolve(source.getClassName() + ".java"), packageOf(workPackage, source.getDir()), source.getWriter(), generatedClasses, classIndex);
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println(entityName + ": " + e.getMessage());
+        }
+    }
+
+    private void write(Path file, String packageName, JavaSourceWriter writer, Map<String, String> generatedClasses, ClassIndex classIndex) {
+        if (Files.exists(file) && !overwrite) {
+            existing.incrementAndGet();
+            return;
+        }
+        if (check) {
+            if (!Files.exists(file)) {
+                missingFiles.add(file.toString());
+            }
+            return;
+        }
+        for (String simpleName : writer.getSimpleNames()) {
+            String qualifiedName = generatedClasses.getOrDefault(simpleName, classIndex.resolve(simpleName));
+            if (null != qualifiedName && !qualifiedName.equals(qualify(packageName, simpleName))) {
+                writer.importType(qualifiedName);
+            }
+        }
+        String source = (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n") + writer.toSource() + "\n";
+        try {
+            boolean exists = Files.exists(file);
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+            (exists ? overwritten : created).incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入" + file + "失败", e);
+        }
+    }
+
+    private static String parentPackage(String packageName) {
+        int idx = packageName.lastIndexOf('.');
+        return idx == -1 ? "" : packageName.substring(0, idx);
+    }
+
+    private static String packageOf(String workPackage, String dir) {
+        String subPackage = dir.replace('/', '.');
+        return workPackage.isEmpty() ? subPackage : workPackage + "." + subPackage;
+    }
+
+    private static String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static class SourceFile {
+        private Path path;
+        private JavaSourceParser.ParsedClass parsedClass;
+
+        private SourceFile(Path path, JavaSourceParser.ParsedClass parsedClass) {
+            this.path = path;
+            this.parsedClass = parsedClass;
+        }
+
+        private static SourceFile parse(Path path) {
+            try {
+                JavaSourceParser.ParsedClass parsedClass = JavaSourceParser.parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+                return null == parsedClass ? null : new SourceFile(path, parsedClass);
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取" + path + "失败", e);
+            }
+        }
+    }
+}
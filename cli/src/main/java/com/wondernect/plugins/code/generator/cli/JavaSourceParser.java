@@ -0,0 +1,483 @@
+package com.wondernect.plugins.code.generator.cli;
+
+import java.util.*;
+
+/**
+ * 轻量Java源码解析器，只解析代码生成需要的部分：包名、导入、第一个顶层类型的注解及字段
+ * 方法体、初始化块与内部类整体跳过，不做语义分析
+ **/
+final class JavaSourceParser {
+
+    private static final Set<String> MODIFIERS = new HashSet<>(Arrays.asList(
+            "public", "protected", "private", "static", "final", "transient", "volatile", "abstract", "strictfp", "synchronized", "native", "default"
+    ));
+    private static final Set<String> TYPE_KEYWORDS = new HashSet<>(Arrays.asList("class", "interface", "enum"));
+
+    private final String code;
+    private int pos;
+
+    private JavaSourceParser(String source) {
+        this.code = stripComments(source);
+    }
+
+    /**
+     * 解析源码，没有顶层类型时返回null
+     */
+    static ParsedClass parse(String source) {
+        return new JavaSourceParser(source).parseFile();
+    }
+
+    private ParsedClass parseFile() {
+        ParsedClass parsedClass = new ParsedClass();
+        while (true) {
+            skipWhitespace();
+            if (startsWithKeyword("package")) {
+                pos += "package".length();
+                parsedClass.packageName = readUntil(';').replaceAll("\\s+", "");
+            } else if (startsWithKeyword("import")) {
+                pos += "import".length();
+                String imported = readUntil(';').replaceAll("\\s+", " ").trim();
+                if (imported.startsWith("static ")) {
+                    continue;
+                }
+                imported = imported.replace(" ", "");
+                if (imported.endsWith(".*")) {
+                    parsedClass.onDemandImports.add(imported.substring(0, imported.length() - 2));
+                } else {
+                    parsedClass.imports.add(imported);
+                }
+            } else if (peek() == ';') {
+                pos++;
+            } else {
+                break;
+            }
+        }
+        parsedClass.annotations.addAll(readAnnotations());
+        // 修饰符及class/interface/enum
+        while (pos < code.length()) {
+            skipWhitespace();
+            if (peek() == '@') {
+                // @interface
+                pos++;
+                continue;
+            }
+            String word = readIdentifier();
+            if (null == word) {
+                return null;
+            }
+            if (TYPE_KEYWORDS.contains(word)) {
+                break;
+            }
+        }
+        skipWhitespace();
+        parsedClass.name = readIdentifier();
+        if (null == parsedClass.name) {
+            return null;
+        }
+        int bodyStart = code.indexOf('{', pos);
+        if (-1 == bodyStart) {
+            return null;
+        }
+        pos = bodyStart + 1;
+        parseMembers(parsedClass);
+        return parsedClass;
+    }
+
+    private void parseMembers(ParsedClass parsedClass) {
+        while (true) {
+            skipWhitespace();
+            if (pos >= code.length() || peek() == '}') {
+                return;
+            }
+            if (peek() == ';') {
+                pos++;
+                continue;
+            }
+            List<ParsedAnnotation> annotations = readAnnotations();
+            int start = pos;
+            boolean method = false;
+            boolean assignment = false;
+            int depth = 0;
+            while (pos < code.length()) {
+                char c = code.charAt(pos);
+                if (c == '"' || c == '\'') {
+                    skipLiteral();
+                    continue;
+                }
+                if (c == '(') {
+                    if (!assignment && depth == 0) {
+                        method = true;
+                    }
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (c == '=' && depth == 0) {
+                    assignment = true;
+                } else if (c == '{') {
+                    skipBalanced('{', '}');
+                    if (assignment || depth > 0) {
+                        // 字段初始化中的数组、匿名类或lambda
+                        continue;
+                    }
+                    // 方法体、初始化块或内部类
+                    method = true;
+                    break;
+                } else if (c == '}' && depth == 0) {
+                    return;
+                } else if (c == ';' && depth == 0) {
+                    break;
+                }
+                pos++;
+            }
+            String declaration = code.substring(start, Math.min(pos, code.length()));
+            if (pos < code.length() && code.charAt(pos) == ';') {
+                pos++;
+            }
+            if (!method) {
+                parseFields(declaration, annotations, parsedClass.fields);
+            }
+        }
+    }
+
+    /**
+     * 解析字段声明，如private java.util.List<String> a = x, b;
+     */
+    private static void parseFields(String declaration, List<ParsedAnnotation> annotations, List<ParsedField> fields) {
+        List<String> declarators = splitTopLevel(declaration, ',');
+        if (declarators.isEmpty()) {
+            return;
+        }
+        String first = beforeAssignment(declarators.get(0)).trim();
+        int nameStart = first.length();
+        while (nameStart > 0 && Character.isJavaIdentifierPart(first.charAt(nameStart - 1))) {
+            nameStart--;
+        }
+        String name = first.substring(nameStart);
+        String typeText = first.substring(0, nameStart).trim();
+        // 去掉修饰符
+        Set<String> modifiers = new HashSet<>();
+        while (true) {
+            int space = indexOfWhitespace(typeText);
+            if (space == -1 || !MODIFIERS.contains(typeText.substring(0, space))) {
+                break;
+            }
+            modifiers.add(typeText.substring(0, space));
+            typeText = typeText.substring(space).trim();
+        }
+        if (name.isEmpty() || typeText.isEmpty()) {
+            return;
+        }
+        String type = typeText.replaceAll("\\s+", "");
+        fields.add(new ParsedField(name, type, modifiers, annotations));
+        for (int i = 1; i < declarators.size(); i++) {
+            String other = beforeAssignment(declarators.get(i)).trim();
+            if (!other.isEmpty()) {
+                fields.add(new ParsedField(other, type, modifiers, annotations));
+            }
+        }
+    }
+
+    private List<ParsedAnnotation> readAnnotations() {
+        List<ParsedAnnotation> annotations = new ArrayList<>();
+        while (true) {
+            skipWhitespace();
+            if (peek() != '@' || code.startsWith("@interface", pos)) {
+                return annotations;
+            }
+            pos++;
+            skipWhitespace();
+            String name = readQualifiedName();
+            skipWhitespace();
+            Map<String, String> attributes = new LinkedHashMap<>();
+            if (peek() == '(') {
+                int start = pos + 1;
+                skipBalanced('(', ')');
+                String arguments = code.substring(start, pos - 1).trim();
+                if (!arguments.isEmpty()) {
+                    for (String argument : splitTopLevel(arguments, ',')) {
+                        int equals = indexOfAssignment(argument);
+                        if (equals == -1) {
+                            attributes.put("value", argument.trim());
+                        } else {
+                            attributes.put(argument.substring(0, equals).trim(), argument.substring(equals + 1).trim());
+                        }
+                    }
+                }
+            }
+            annotations.add(new ParsedAnnotation(name, attributes));
+        }
+    }
+
+    private String readIdentifier() {
+        if (pos >= code.length() || !Character.isJavaIdentifierStart(code.charAt(pos))) {
+            return null;
+        }
+        int start = pos;
+        while (pos < code.length() && Character.isJavaIdentifierPart(code.charAt(pos))) {
+            pos++;
+        }
+        return code.substring(start, pos);
+    }
+
+    private String readQualifiedName() {
+        StringBuilder name = new StringBuilder();
+        while (true) {
+            String identifier = readIdentifier();
+            if (null == identifier) {
+                return name.toString();
+            }
+            name.append(identifier);
+            int mark = pos;
+            skipWhitespace();
+            if (peek() == '.') {
+                pos++;
+                skipWhitespace();
+                name.append('.');
+            } else {
+                pos = mark;
+                return name.toString();
+            }
+        }
+    }
+
+    private String readUntil(char end) {
+        int idx = code.indexOf(end, pos);
+        if (idx == -1) {
+            idx = code.length();
+        }
+        String text = code.substring(pos, idx);
+        pos = Math.min(idx + 1, code.length());
+        return text.trim();
+    }
+
+    /**
+     * pos位于open上，跳到匹配的close之后
+     */
+    private void skipBalanced(char open, char close) {
+        int depth = 0;
+        while (pos < code.length()) {
+            char c = code.charAt(pos);
+            if (c == '"' || c == '\'') {
+                skipLiteral();
+                continue;
+            }
+            pos++;
+            if (c == open) {
+                depth++;
+            } else if (c == close && --depth == 0) {
+                return;
+            }
+        }
+    }
+
+    private void skipLiteral() {
+        char quote = code.charAt(pos++);
+        while (pos < code.length()) {
+            char c = code.charAt(pos++);
+            if (c == '\\') {
+                pos++;
+            } else if (c == quote) {
+                return;
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < code.length() && Character.isWhitespace(code.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char peek() {
+        return pos < code.length() ? code.charAt(pos) : 0;
+    }
+
+    private boolean startsWithKeyword(String keyword) {
+        int end = pos + keyword.length();
+        return code.startsWith(keyword, pos) && (end >= code.length() || !Character.isJavaIdentifierPart(code.charAt(end)));
+    }
+
+    private static String beforeAssignment(String declarator) {
+        int equals = indexOfAssignment(declarator);
+        return equals == -1 ? declarator : declarator.substring(0, equals);
+    }
+
+    /**
+     * 第一个赋值号的位置，跳过==、<=等比较运算符
+     */
+    private static int indexOfAssignment(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                return -1;
+            }
+            if (c == '=' && (i + 1 >= text.length() || text.charAt(i + 1) != '=') && (i == 0 || "=!<>".indexOf(text.charAt(i - 1)) == -1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按顶层分隔符拆分，括号、泛型与字符串内的分隔符不拆
+     */
+    private static List<String> splitTopLevel(String text, char separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                char quote = c;
+                for (i++; i < text.length() && text.charAt(i) != quote; i++) {
+                    if (text.charAt(i) == '\\') {
+                        i++;
+                    }
+                }
+            } else if (c == '(' || c == '{' || c == '[' || c == '<') {
+                depth++;
+            } else if (c == ')' || c == '}' || c == ']' || c == '>') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            parts.add(text.substring(start));
+        }
+        return parts;
+    }
+
+    /**
+     * 注释替换为空白，字符串保持不变
+     */
+    private static String stripComments(String source) {
+        StringBuilder builder = new StringBuilder(source.length());
+        int length = source.length();
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                int start = i++;
+                while (i < length && source.charAt(i) != c && source.charAt(i) != '\n') {
+                    i += source.charAt(i) == '\\' ? 2 : 1;
+                }
+                i = Math.min(i + 1, length);
+                builder.append(source, start, i);
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                while (i < length && source.charAt(i) != '\n') {
+                    builder.append(' ');
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                end = end == -1 ? length : end + 2;
+                for (; i < end; i++) {
+                    builder.append(source.charAt(i) == '\n' ? '\n' : ' ');
+                }
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    static final class ParsedClass {
+        private String packageName = "";
+        private String name;
+        private final List<String> imports = new ArrayList<>();
+        private final List<String> onDemandImports = new ArrayList<>();
+        private final List<ParsedAnnotation> annotations = new ArrayList<>();
+        private final List<ParsedField> fields = new ArrayList<>();
+
+        String getPackageName() {
+            return packageName;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getQualifiedName() {
+            return packageName.isEmpty() ? name : packageName + "." + name;
+        }
+
+        List<String> getImports() {
+            return imports;
+        }
+
+        List<String> getOnDemandImports() {
+            return onDemandImports;
+        }
+
+        List<ParsedAnnotation> getAnnotations() {
+            return annotations;
+        }
+
+        List<ParsedField> getFields() {
+            return fields;
+        }
+    }
+
+    static final class ParsedAnnotation {
+        private final String name;
+        // 属性名 -> 源码文本，如notes -> "学生姓名"
+        private final Map<String, String> attributes;
+
+        private ParsedAnnotation(String name, Map<String, String> attributes) {
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getAttribute(String attribute) {
+            return attributes.get(attribute);
+        }
+    }
+
+    static final class ParsedField {
+        private final String name;
+        // 源码中的类型文本(去掉空白)，如List<String>
+        private final String type;
+        // 修饰符，如static、transient
+        private final Set<String> modifiers;
+        private final List<ParsedAnnotation> annotations;
+
+        private ParsedField(String name, String type, Set<String> modifiers, List<ParsedAnnotation> annotations) {
+            this.name = name;
+            this.type = type;
+            this.modifiers = modifiers;
+            this.annotations = annotations;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getType() {
+            return type;
+        }
+
+        Set<String> getModifiers() {
+            return modifiers;
+        }
+
+        List<ParsedAnnotation> getAnnotations() {
+            return annotations;
+        }
+    }
+}
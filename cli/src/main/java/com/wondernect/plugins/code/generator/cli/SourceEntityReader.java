@@ -0,0 +1,191 @@
+package com.wondernect.plugins.code.generator.cli;
+
+import com.wondernect.plugins.code.generator.CodeGenerationException;
+import com.wondernect.plugins.code.generator.model.ColumnDefinition;
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.model.EntityModel;
+
+import java.util.*;
+
+/**
+ * 从解析后的源码读取实体模型，规则与插件中的EntityModelReader一致
+ **/
+final class SourceEntityReader {
+
+    private static final String ID = "javax.persistence.Id";
+    private static final String COLUMN = "javax.persistence.Column";
+    private static final String LOB = "javax.persistence.Lob";
+    private static final String TRANSIENT = "javax.persistence.Transient";
+    private static final String NOT_NULL = "javax.validation.constraints.NotNull";
+    private static final String NOT_BLANK = "javax.validation.constraints.NotBlank";
+    // 关联及嵌入注解，被注解的字段不是实体表中的普通列
+    private static final String[] RELATIONS = {
+            "javax.persistence.OneToMany", "javax.persistence.ManyToOne", "javax.persistence.OneToOne", "javax.persistence.ManyToMany",
+            "javax.persistence.ElementCollection", "javax.persistence.Embedded", "javax.persistence.EmbeddedId"
+    };
+    private static final String API_MODEL = "io.swagger.annotations.ApiModel";
+    private static final String API_MODEL_PROPERTY = "io.swagger.annotations.ApiModelProperty";
+    private static final Set<String> PRIMITIVES = new HashSet<>(Arrays.asList(
+            "boolean", "byte", "char", "short", "int", "long", "float", "double", "void", "extends", "super"
+    ));
+
+    private final JavaSourceParser.ParsedClass parsedClass;
+    private final ClassIndex classIndex;
+
+    private SourceEntityReader(JavaSourceParser.ParsedClass parsedClass, ClassIndex classIndex) {
+        this.parsedClass = parsedClass;
+        this.classIndex = classIndex;
+    }
+
+    static EntityModel read(JavaSourceParser.ParsedClass parsedClass, ClassIndex classIndex) {
+        return new SourceEntityReader(parsedClass, classIndex).read();
+    }
+
+    /**
+     * 类上是否有指定注解，注解名按导入解析
+     */
+    static boolean hasAnnotation(JavaSourceParser.ParsedClass parsedClass, String annotation) {
+        return null != findAnnotation(parsedClass, parsedClass.getAnnotations(), annotation);
+    }
+
+    private EntityModel read() {
+        List<EntityField> fields = new ArrayList<>();
+        for (JavaSourceParser.ParsedField field : parsedClass.getFields()) {
+            fields.add(readField(field));
+        }
+        String description = getDescription(findAnnotation(parsedClass, parsedClass.getAnnotations(), API_MODEL), "description");
+        return new EntityModel(parsedClass.getName(), parsedClass.getQualifiedName(), description, fields);
+    }
+
+    private EntityField readField(JavaSourceParser.ParsedField field) {
+        String name = field.getName();
+        String qualifiedTypeName = resolveType(field.getType());
+        String description = getDescription(findAnnotation(parsedClass, field.getAnnotations(), API_MODEL_PROPERTY), "notes");
+        if (null == description) {
+            throw new CodeGenerationException("字段" + name + "缺少ApiModelProperty描述");
+        }
+        Integer length = null;
+        boolean nullable = true;
+        boolean notNull = false;
+        boolean large = null != findAnnotation(parsedClass, field.getAnnotations(), LOB);
+        // @Column注解
+        JavaSourceParser.ParsedAnnotation columnAnnotation = findAnnotation(parsedClass, field.getAnnotations(), COLUMN);
+        if (null != columnAnnotation) {
+            String columnDefinition = columnAnnotation.getAttribute("columnDefinition");
+            if (null != columnDefinition) {
+                if ("java.lang.String".equals(qualifiedTypeName)) {
+                    // 只有字符串的时候才解析长度
+                    length = ColumnDefinition.getLength(columnDefinition);
+                }
+                nullable = ColumnDefinition.isNullable(columnDefinition);
+                large = large || ColumnDefinition.isLarge(columnDefinition);
+            }
+            notNull = "false".equals(columnAnnotation.getAttribute("nullable"));
+        }
+        // 校验注解同样声明非空，只用于滚动分页排序键的校验
+        notNull = notNull || null != findAnnotation(parsedClass, field.getAnnotations(), NOT_NULL) || null != findAnnotation(parsedClass, field.getAnnotations(), NOT_BLANK);
+        boolean id = null != findAnnotation(parsedClass, field.getAnnotations(), ID);
+        return new EntityField(name, qualifiedTypeName, id, description, length, nullable, large, isColumn(field, qualifiedTypeName), notNull);
+    }
+
+    private boolean isColumn(JavaSourceParser.ParsedField field, String qualifiedTypeName) {
+        if (field.getModifiers().contains("static") || field.getModifiers().contains("transient") || null != findAnnotation(parsedClass, field.getAnnotations(), TRANSIENT)) {
+            return false;
+        }
+        for (String relation : RELATIONS) {
+            if (null != findAnnotation(parsedClass, field.getAnnotations(), relation)) {
+                return false;
+            }
+        }
+        return !ColumnDefinition.isCollectionType(qualifiedTypeName);
+    }
+
+    /**
+     * 类型文本中的每个类名解析为全限定名，如List<String>解析为java.util.List<java.lang.String>
+     */
+    private String resolveType(String type) {
+        StringBuilder result = new StringBuilder(type.length() + 16);
+        int i = 0;
+        while (i < type.length()) {
+            char c = type.charAt(i);
+            if (!Character.isJavaIdentifierStart(c)) {
+                result.append(c);
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < type.length() && (Character.isJavaIdentifierPart(type.charAt(i)) || type.charAt(i) == '.')) {
+                i++;
+            }
+            result.append(resolveClass(type.substring(start, i)));
+        }
+        return result.toString();
+    }
+
+    private String resolveClass(String name) {
+        if (name.contains(".") || PRIMITIVES.contains(name)) {
+            return name;
+        }
+        for (String imported : parsedClass.getImports()) {
+            if (imported.endsWith("." + name)) {
+                return imported;
+            }
+        }
+        String samePackage = parsedClass.getPackageName().isEmpty() ? name : parsedClass.getPackageName() + "." + name;
+        if (classIndex.contains(samePackage)) {
+            return samePackage;
+        }
+        if (isJdkClass("java.lang." + name)) {
+            return "java.lang." + name;
+        }
+        for (String onDemandImport : parsedClass.getOnDemandImports()) {
+            String candidate = onDemandImport + "." + name;
+            if (classIndex.contains(candidate) || isJdkClass(candidate)) {
+                return candidate;
+            }
+        }
+        // 无法解析时与IDE一样保留原文
+        return name;
+    }
+
+    private static boolean isJdkClass(String qualifiedName) {
+        if (!qualifiedName.startsWith("java.") && !qualifiedName.startsWith("javax.")) {
+            return false;
+        }
+        try {
+            Class.forName(qualifiedName, false, SourceEntityReader.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static JavaSourceParser.ParsedAnnotation findAnnotation(JavaSourceParser.ParsedClass parsedClass, List<JavaSourceParser.ParsedAnnotation> annotations, String qualifiedName) {
+        String simpleName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        String packageName = qualifiedName.substring(0, Math.max(qualifiedName.lastIndexOf('.'), 0));
+        for (JavaSourceParser.ParsedAnnotation annotation : annotations) {
+            if (annotation.getName().equals(qualifiedName)) {
+                return annotation;
+            }
+            if (annotation.getName().equals(simpleName) && (parsedClass.getImports().contains(qualifiedName) || parsedClass.getOnDemandImports().contains(packageName) || parsedClass.getPackageName().equals(packageName))) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 取注解的value，value为空时取备用属性，并去掉引号；没有注解时返回null
+     */
+    private static String getDescription(JavaSourceParser.ParsedAnnotation annotation, String fallbackAttribute) {
+        if (null == annotation) {
+            return null;
+        }
+        String description = annotation.getAttribute("value");
+        if (null == description || "".equals(description) || "\"\"".equals(description)) {
+            description = annotation.getAttribute(fallbackAttribute);
+        }
+        // 未写的属性取注解声明中的默认值""，与IDE一致
+        return null == description ? "" : description.replace("\"", "");
+    }
+}
@@ -0,0 +1,24 @@
+/** {{entityDescription}}批量写入结果DTO，与请求中的条目一一对应
+ * @author {{author}} {{date}} **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "{{entityDescription}}批量写入结果对象")
+public class {{batchResultDTOName}} {
+
+    @JsonProperty("index")
+    @ApiModelProperty(notes = "条目在请求中的序号")
+    private Integer index;
+
+    @JsonProperty("success")
+    @ApiModelProperty(notes = "是否写入成功")
+    private Boolean success;
+
+    @JsonProperty("message")
+    @ApiModelProperty(notes = "失败原因")
+    private String message;
+
+    @JsonProperty("data")
+    @ApiModelProperty(notes = "写入后的对象")
+    private {{responseDTOName}} data;
+}
@@ -0,0 +1,19 @@
+/** {{entityDescription}}批量更新请求DTO
+ * @author {{author}} {{date}} **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "{{entityDescription}}批量更新请求对象")
+public class {{batchUpdateRequestDTOName}} {
+
+    @NotNull(message = "对象id不能为空")
+    @JsonProperty("{{entityIdPathName}}")
+    @ApiModelProperty(notes = "对象id")
+    private {{entityIdType}} {{entityIdName}};
+
+    @Valid
+    @NotNull(message = "更新内容不能为空")
+    @JsonProperty("data")
+    @ApiModelProperty(notes = "更新内容")
+    private {{requestDTOName}} data;
+}
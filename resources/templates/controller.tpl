@@ -0,0 +1,99 @@
+/** {{entityDescription}}接口
+ * @author {{author}} {{date}} **/
+@RequestMapping(value = "{{apiPrefix}}")
+@RestController
+@Validated
+@Api(tags = "{{entityDescription}}接口")
+public class {{controllerName}} {
+
+    @Autowired
+    private {{serviceName}} {{serviceVariableName}};
+
+    @ApiOperation(value = "创建", notes = "创建", httpMethod = "POST")
+    @PostMapping(value = "/create")
+    public BusinessData<{{responseDTOName}}> create(
+            @ApiParam(value = "创建请求对象", required = true) @NotNull(message = "请求参数不能为空") @Validated @RequestBody(required = false) {{requestDTOName}} {{requestDTOVariableName}}
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.create({{requestDTOVariableName}}));
+    }
+
+    @ApiOperation(value = "更新", notes = "更新", httpMethod = "POST")
+    @PostMapping(value = "/{{entityIdPath}}/update")
+    public BusinessData<{{responseDTOName}}> update(
+            @ApiParam(value = "对象id", required = true) @NotBlank(message = "对象id不能为空") @PathVariable(value = "{{entityIdPathName}}", required = false) {{entityIdType}} {{entityIdName}},
+            @ApiParam(value = "更新请求对象", required = true) @NotNull(message = "请求参数不能为空") @Validated @RequestBody(required = false) {{requestDTOName}} {{requestDTOVariableName}}
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.update({{entityIdName}}, {{requestDTOVariableName}}));
+    }
+
+    @ApiOperation(value = "删除", notes = "删除", httpMethod = "POST")
+    @PostMapping(value = "/{{entityIdPath}}/delete")
+    public BusinessData delete(
+            @ApiParam(value = "对象id", required = true) @NotBlank(message = "对象id不能为空") @PathVariable(value = "{{entityIdPathName}}", required = false) {{entityIdType}} {{entityIdName}}
+    ) {
+        {{serviceVariableName}}.deleteById({{entityIdName}});
+        return new BusinessData(BusinessError.SUCCESS);
+    }
+{{#bulkDelete}}
+
+    @ApiOperation(value = "批量删除", notes = "按id列表批量删除，返回删除的行数", httpMethod = "POST")
+    @PostMapping(value = "/delete_by_ids")
+    public BusinessData<Integer> deleteByIds(
+            @ApiParam(value = "对象id列表", required = true) @NotEmpty(message = "对象id列表不能为空") @RequestBody(required = false) List<{{entityIdType}}> {{entityIdName}}s
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.deleteByIds({{entityIdName}}s));
+    }
+{{/bulkDelete}}
+
+    @ApiOperation(value = "获取详细信息", notes = "获取详细信息", httpMethod = "GET")
+    @GetMapping(value = "/{{entityIdPath}}/detail")
+    public BusinessData<{{responseDTOName}}> detail(
+            @ApiParam(value = "对象id", required = true) @NotBlank(message = "对象id不能为空") @PathVariable(value = "{{entityIdPathName}}", required = false) {{entityIdType}} {{entityIdName}}
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.findById({{entityIdName}}));
+    }
+
+    @ApiOperation(value = "列表", notes = "列表", httpMethod = "POST")
+    @PostMapping(value = "/list")
+    public BusinessData<List<{{responseDTOName}}>> list(
+            @ApiParam(value = "列表请求对象", required = true) @NotNull(message = "列表请求参数不能为空") @Validated @RequestBody(required = false) {{listRequestDTOName}} {{listRequestDTOVariableName}}
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.list({{listRequestDTOVariableName}}));
+    }
+
+    @ApiOperation(value = "分页", notes = "分页", httpMethod = "POST")
+    @PostMapping(value = "/page")
+    public BusinessData<PageResponseData<{{responseDTOName}}>> page(
+            @ApiParam(value = "分页请求对象", required = true) @NotNull(message = "分页请求参数不能为空") @Validated @RequestBody(required = false) {{pageRequestDTOName}} {{pageRequestDTOVariableName}}
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.page({{pageRequestDTOVariableName}}));
+    }
+{{#scroll}}
+
+    @ApiOperation(value = "滚动分页", notes = "滚动分页，第一页不传游标，之后传入上一页最后一条的值", httpMethod = "POST")
+    @PostMapping(value = "/scroll")
+    public BusinessData<List<{{responseDTOName}}>> scroll(
+            @ApiParam(value = "滚动分页请求对象", required = true) @NotNull(message = "滚动分页请求参数不能为空") @Validated @RequestBody(required = false) {{scrollRequestDTOName}} {{scrollRequestDTOVariableName}}
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.scroll({{scrollRequestDTOVariableName}}));
+    }
+{{/scroll}}
+{{#batch}}
+
+    @ApiOperation(value = "批量创建", notes = "批量创建，逐条返回结果", httpMethod = "POST")
+    @PostMapping(value = "/create_batch")
+    public BusinessData<List<{{batchResultDTOName}}>> createBatch(
+            @ApiParam(value = "批量创建请求对象", required = true) @NotEmpty(message = "批量请求参数不能为空") @RequestBody(required = false) List<{{requestDTOName}}> {{requestDTOVariableName}}List
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.createBatch({{requestDTOVariableName}}List));
+    }
+
+    @ApiOperation(value = "批量更新", notes = "批量更新，逐条返回结果", httpMethod = "POST")
+    @PostMapping(value = "/update_batch")
+    public BusinessData<List<{{batchResultDTOName}}>> updateBatch(
+            @ApiParam(value = "批量更新请求对象", required = true) @NotEmpty(message = "批量请求参数不能为空") @RequestBody(required = false) List<{{batchUpdateRequestDTOName}}> {{batchUpdateRequestDTOVariableName}}List
+    ) {
+        return new BusinessData<>({{serviceVariableName}}.updateBatch({{batchUpdateRequestDTOVariableName}}List));
+    }
+{{/batch}}
+}
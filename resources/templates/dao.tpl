@@ -0,0 +1,4 @@
+/** {{entityDescription}}数据库操作类
+ * @author {{author}} {{date}} **/
+@Repository
+public class {{daoName}} extends {{baseDao}}<{{entityName}}{{#idGeneric}}, {{entityIdType}}{{/idGeneric}}> {}
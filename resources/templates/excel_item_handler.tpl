@@ -0,0 +1,31 @@
+/** {{entityDescription}}导入导出item handler
+ * @author {{author}} {{date}} **/
+public class {{handlerName}} extends ESExcelItemHandler<{{itemType}}> {
+
+    public {{handlerName}}() {
+        super("{{itemDescription}}", 0);
+    }
+
+    public {{handlerName}}(int itemOrder) {
+        super("{{itemDescription}}", itemOrder);
+    }
+
+    public {{handlerName}}(String itemTitle, int itemOrder) {
+        super(itemTitle, itemOrder);
+    }
+
+    @Override
+    public String itemName() {
+        return "{{itemName}}";
+    }
+
+    @Override
+    public Object handleExcelExportItemObject({{itemType}} object) {
+        return null;
+    }
+
+    @Override
+    public {{itemType}} handleExcelImportItemObject(Object object) {
+        return null;
+    }
+}
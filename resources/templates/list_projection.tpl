@@ -0,0 +1,8 @@
+/** {{entityDescription}}列表投影，列表与分页只查询其中的列(不含大字段)
+ * @author {{author}} {{date}} **/
+public interface {{listProjectionName}} {
+{{#projectionFields}}
+
+    {{type}} {{getter}}();
+{{/projectionFields}}
+}
@@ -0,0 +1,9 @@
+/** {{entityDescription}}列表请求DTO
+ * @author {{author}} {{date}} **/
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@ApiModel(value = "{{entityDescription}}列表请求对象")
+public class {{listRequestDTOName}} extends ListRequestDTO {
+
+}
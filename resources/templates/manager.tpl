@@ -0,0 +1,4 @@
+/** {{entityDescription}}服务操作类
+ * @author {{author}} {{date}} **/
+@Service
+public class {{managerName}} extends {{baseManager}}<{{entityName}}{{#idGeneric}}, {{entityIdType}}{{/idGeneric}}> {}
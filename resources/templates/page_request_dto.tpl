@@ -0,0 +1,9 @@
+/** {{entityDescription}}分页请求DTO
+ * @author {{author}} {{date}} **/
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@ApiModel(value = "{{entityDescription}}分页请求对象")
+public class {{pageRequestDTOName}} extends PageRequestDTO {
+
+}
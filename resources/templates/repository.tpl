@@ -0,0 +1,56 @@
+/** {{entityDescription}}数据库操作类
+ * @author {{author}} {{date}} **/
+{{^repositoryQueries}}
+public interface {{repositoryName}} extends {{baseRepository}}<{{entityName}}{{#idGeneric}}, {{entityIdType}}{{/idGeneric}}> {}
+{{/repositoryQueries}}
+{{#repositoryQueries}}
+public interface {{repositoryName}} extends {{baseRepository}}<{{entityName}}{{#idGeneric}}, {{entityIdType}}{{/idGeneric}}> {
+{{#listProjection}}
+
+    /**
+     * 列表，只查询列表投影中的列
+     **/
+    @Query("select {{projectionSelect}} from #{#entityName} e")
+    List<{{listProjectionName}}> findAllProjectedBy(Sort sort);
+
+    /**
+     * 分页，只查询列表投影中的列
+     **/
+    @Query(value = "select {{projectionSelect}} from #{#entityName} e", countQuery = "select count(e) from #{#entityName} e")
+    Page<{{listProjectionName}}> findAllProjectedBy(Pageable pageable);
+{{/listProjection}}
+{{#scroll}}
+
+    /**
+     * 滚动分页第一页，按({{scrollIndex}})的索引顺序读取
+     **/
+    @Query("select {{querySelect}} from #{#entityName} e order by {{scrollOrderBy}}")
+    List<{{queryItemName}}> scrollFirst(Pageable pageable);
+
+    /**
+     * 滚动分页，从上一页最后一条之后开始，不扫描已翻过的行
+     **/
+    @Query("select {{querySelect}} from #{#entityName} e where {{scrollSeek}} order by {{scrollOrderBy}}")
+    List<{{queryItemName}}> scrollAfter({{^scrollById}}@Param("lastKey") {{scrollKeyType}} lastKey, {{/scrollById}}@Param("lastId") {{entityIdType}} lastId, Pageable pageable);
+{{/scroll}}
+{{#stream}}
+
+    /**
+     * 流式读取，服务端游标每次取{{streamFetchSize}}行，需在只读事务中使用并关闭
+     **/
+    @QueryHints(value = {@QueryHint(name = "org.hibernate.fetchSize", value = "{{streamFetchSize}}"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select {{querySelect}} from #{#entityName} e")
+    Stream<{{queryItemName}}> streamAll(Sort sort);
+{{/stream}}
+{{#bulkDelete}}
+
+    /**
+     * 按id列表批量删除，一条delete语句，在自己的事务中提交，返回删除的行数
+     **/
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from #{#entityName} e where e.{{entityIdName}} in :{{entityIdName}}s")
+    int deleteByIdIn(@Param("{{entityIdName}}s") Collection<{{entityIdType}}> {{entityIdName}}s);
+{{/bulkDelete}}
+}
+{{/repositoryQueries}}
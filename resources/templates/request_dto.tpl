@@ -0,0 +1,9 @@
+/** {{entityDescription}}请求DTO
+ * @author {{author}} {{date}} **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "{{entityDescription}}请求对象")
+public class {{requestDTOName}} {
+{{fields}}
+}
@@ -0,0 +1,10 @@
+/** {{entityDescription}}响应DTO
+ * @author {{author}} {{date}} **/
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "{{entityDescription}}响应对象")
+public class {{responseDTOName}} extends {{baseResponseDTO}} {
+{{fields}}
+}
@@ -0,0 +1,16 @@
+/** {{entityDescription}}滚动分页请求DTO，第一页不传游标，之后传入上一页最后一条的值
+ * @author {{author}} {{date}} **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(value = "{{entityDescription}}滚动分页请求对象")
+public class {{scrollRequestDTOName}} {
+{{fields}}
+
+    @Min(value = 1, message = "每页条数不能小于1")
+    @Max(value = 1000, message = "每页条数不能超过1000")
+    @NotNull(message = "每页条数不能为空")
+    @JsonProperty("size")
+    @ApiModelProperty(notes = "每页条数")
+    private Integer size;
+}
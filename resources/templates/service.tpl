@@ -0,0 +1,6 @@
+/** {{entityDescription}}服务
+ * @author {{author}} {{date}} **/
+@Service
+public class {{serviceName}} extends {{serviceAbstractName}} {
+
+}
@@ -0,0 +1,279 @@
+/** {{entityDescription}}服务抽象实现类
+ * @author {{author}} {{date}} **/
+@Service
+public abstract class {{serviceAbstractName}} extends {{baseService}}<{{responseDTOName}}, {{entityName}}{{#idGeneric}}, {{entityIdType}}{{/idGeneric}}> implements {{serviceInterfaceName}} {
+{{#batch}}
+
+    // 每写入多少条flush并clear一次，应与hibernate.jdbc.batch_size一致
+    private static final int BATCH_SIZE = {{batchSize}};
+{{/batch}}
+{{#bulkDelete}}
+
+    // 每条delete语句最多删除的id数，不超过数据库的参数上限
+    private static final int DELETE_CHUNK_SIZE = {{deleteChunkSize}};
+{{/bulkDelete}}
+{{#repositoryQueries}}
+
+    @Autowired
+    private {{repositoryName}} {{repositoryVariableName}};
+{{/repositoryQueries}}
+{{#entityManager}}
+
+    @PersistenceContext
+    private EntityManager entityManager;
+{{/entityManager}}
+{{#batch}}
+
+    @Autowired
+    private Validator validator;
+{{/batch}}
+
+    @Transactional
+    @Override
+    public {{responseDTOName}} create({{requestDTOName}} {{requestDTOVariableName}}) {
+        //TODO:判断对象是否存在
+
+        {{entityName}} {{entityVariableName}} = new {{entityName}}();
+        ESBeanUtils.copyProperties({{requestDTOVariableName}}, {{entityVariableName}});
+        return super.save({{entityVariableName}});
+    }
+
+    @Transactional
+    @Override
+    public {{responseDTOName}} update({{entityIdType}} {{entityIdName}}, {{requestDTOName}} {{requestDTOVariableName}}) {
+        {{entityName}} {{entityVariableName}} = super.findEntityById({{entityIdName}});
+        if (ESObjectUtils.isNull({{entityVariableName}})) {
+            throw new BusinessException("{{entityDescription}}不存在");
+        }
+        ESBeanUtils.copyWithoutNullAndIgnoreProperties({{requestDTOVariableName}}, {{entityVariableName}});
+        return super.save({{entityVariableName}});
+    }
+
+{{^listProjection}}
+    @Override
+    public List<{{responseDTOName}}> list({{listRequestDTOName}} {{listRequestDTOVariableName}}) {
+        Criteria<{{entityName}}> {{entityVariableName}}Criteria = new Criteria<>();
+        //TODO:添加列表筛选条件
+
+        return super.findAll({{entityVariableName}}Criteria, {{listRequestDTOVariableName}}.getSortDataList());
+    }
+
+    @Override
+    public PageResponseData<{{responseDTOName}}> page({{pageRequestDTOName}} {{pageRequestDTOVariableName}}) {
+        Criteria<{{entityName}}> {{entityVariableName}}Criteria = new Criteria<>();
+        //TODO:添加分页筛选条件
+
+        return super.findAll({{entityVariableName}}Criteria, {{pageRequestDTOVariableName}}.getPageRequestData());
+    }
+
+{{/listProjection}}
+{{#listProjection}}
+    @Override
+    public List<{{responseDTOName}}> list({{listRequestDTOName}} {{listRequestDTOVariableName}}) {
+        //TODO:添加列表筛选条件(在{{repositoryName}}的投影查询中添加where条件)
+
+        return {{repositoryVariableName}}.findAllProjectedBy(toSort({{listRequestDTOVariableName}}.getSortDataList())).stream()
+                .map(this::generateListItem)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseData<{{responseDTOName}}> page({{pageRequestDTOName}} {{pageRequestDTOVariableName}}) {
+        //TODO:添加分页筛选条件(在{{repositoryName}}的投影查询中添加where条件)
+
+        PageRequestData pageRequestData = {{pageRequestDTOVariableName}}.getPageRequestData();
+        Page<{{listProjectionName}}> projectionPage = {{repositoryVariableName}}.findAllProjectedBy(
+                PageRequest.of(pageRequestData.getPage(), pageRequestData.getSize(), toSort(pageRequestData.getSortDataList()))
+        );
+        return new PageResponseData<>(
+                projectionPage.getNumber(),
+                projectionPage.getSize(),
+                projectionPage.getTotalPages(),
+                projectionPage.getTotalElements(),
+                projectionPage.getContent().stream().map(this::generateListItem).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * 列表投影转换为响应对象，基础模型的列写入基础响应DTO中的同名字段，投影中没有的大字段为空
+     **/
+    protected {{responseDTOName}} generateListItem({{listProjectionName}} projection) {
+        {{responseDTOName}} {{responseDTOVariableName}} = new {{responseDTOName}}();
+{{#projectionFields}}
+        {{responseDTOVariableName}}.{{setter}}(projection.{{getter}}());
+{{/projectionFields}}
+        return {{responseDTOVariableName}};
+    }
+
+{{/listProjection}}
+{{#bulkDelete}}
+    @Override
+    public int deleteByIds(List<{{entityIdType}}> {{entityIdName}}s) {
+        if (ESObjectUtils.isNull({{entityIdName}}s) || {{entityIdName}}s.isEmpty()) {
+            throw new BusinessException("对象id列表不能为空");
+        }
+        List<{{entityIdType}}> distinct{{entityIdProperty}}s = {{entityIdName}}s.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        int count = 0;
+        // 每段一条delete语句，在仓库方法自己的事务中提交，调用方已有事务时各段合并到该事务中
+        for (int from = 0; from < distinct{{entityIdProperty}}s.size(); from += DELETE_CHUNK_SIZE) {
+            count += {{repositoryVariableName}}.deleteByIdIn(distinct{{entityIdProperty}}s.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinct{{entityIdProperty}}s.size())));
+        }
+        return count;
+    }
+
+{{/bulkDelete}}
+{{#scroll}}
+    @Override
+    public List<{{responseDTOName}}> scroll({{scrollRequestDTOName}} {{scrollRequestDTOVariableName}}) {
+        //TODO:添加滚动分页筛选条件(在{{repositoryName}}的滚动查询中添加where条件)
+
+        PageRequest pageRequest = PageRequest.of(0, {{scrollRequestDTOVariableName}}.getSize());
+        List<{{queryItemName}}> items;
+        if (ESObjectUtils.isNull({{scrollRequestDTOVariableName}}.getLast{{entityIdProperty}}())) {
+            items = {{repositoryVariableName}}.scrollFirst(pageRequest);
+        } else {
+{{^scrollById}}
+            if (ESObjectUtils.isNull({{scrollRequestDTOVariableName}}.getLast{{scrollKeyProperty}}())) {
+                throw new BusinessException("滚动分页游标不完整");
+            }
+{{/scrollById}}
+            items = {{repositoryVariableName}}.scrollAfter({{^scrollById}}{{scrollRequestDTOVariableName}}.getLast{{scrollKeyProperty}}(), {{/scrollById}}{{scrollRequestDTOVariableName}}.getLast{{entityIdProperty}}(), pageRequest);
+        }
+        return items.stream().map(this::{{queryItemMapper}}).collect(Collectors.toList());
+    }
+
+{{/scroll}}
+{{#stream}}
+    @Transactional(readOnly = true)
+    @Override
+    public void stream({{listRequestDTOName}} {{listRequestDTOVariableName}}, Consumer<{{responseDTOName}}> consumer) {
+        //TODO:添加列表筛选条件(在{{repositoryName}}的流式查询中添加where条件)
+
+        try (Stream<{{queryItemName}}> items = {{repositoryVariableName}}.streamAll(toSort({{listRequestDTOVariableName}}.getSortDataList()))) {
+            items.forEach(item -> {
+                consumer.accept({{queryItemMapper}}(item));
+{{^listProjection}}
+                // 处理完即脱离持久化上下文，避免已读取的实体累积在一级缓存中
+                entityManager.detach(item);
+{{/listProjection}}
+            });
+        }
+    }
+
+{{/stream}}
+{{#batch}}
+    @Transactional
+    @Override
+    public List<{{batchResultDTOName}}> createBatch(List<{{requestDTOName}}> {{requestDTOVariableName}}List) {
+        List<{{batchResultDTOName}}> results = validateBatch({{requestDTOVariableName}}List);
+        //TODO:判断对象是否存在
+
+        int count = 0;
+        for (int i = 0; i < {{requestDTOVariableName}}List.size(); i++) {
+            {{batchResultDTOName}} result = results.get(i);
+            if (!result.getSuccess()) {
+                continue;
+            }
+            {{entityName}} {{entityVariableName}} = new {{entityName}}();
+            ESBeanUtils.copyProperties({{requestDTOVariableName}}List.get(i), {{entityVariableName}});
+            entityManager.persist({{entityVariableName}});
+            result.setData(generate({{entityVariableName}}));
+            if (++count % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return results;
+    }
+
+    @Transactional
+    @Override
+    public List<{{batchResultDTOName}}> updateBatch(List<{{batchUpdateRequestDTOName}}> {{batchUpdateRequestDTOVariableName}}List) {
+        List<{{batchResultDTOName}}> results = validateBatch({{batchUpdateRequestDTOVariableName}}List);
+        Set<{{entityIdType}}> {{entityIdName}}s = new HashSet<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < {{batchUpdateRequestDTOVariableName}}List.size(); i++) {
+            if (!results.get(i).getSuccess()) {
+                continue;
+            }
+            if (!{{entityIdName}}s.add({{batchUpdateRequestDTOVariableName}}List.get(i).get{{entityIdProperty}}())) {
+                results.get(i).setSuccess(false);
+                results.get(i).setMessage("同一批中对象id重复");
+                continue;
+            }
+            indexes.add(i);
+            if (indexes.size() == BATCH_SIZE) {
+                updateBatchChunk({{batchUpdateRequestDTOVariableName}}List, results, indexes);
+                indexes.clear();
+            }
+        }
+        if (!indexes.isEmpty()) {
+            updateBatchChunk({{batchUpdateRequestDTOVariableName}}List, results, indexes);
+        }
+        return results;
+    }
+
+    /**
+     * 批量更新的一段：一次查询读取这一段的实体，更新后flush并clear
+     **/
+    private void updateBatchChunk(List<{{batchUpdateRequestDTOName}}> {{batchUpdateRequestDTOVariableName}}List, List<{{batchResultDTOName}}> results, List<Integer> indexes) {
+        List<{{entityIdType}}> {{entityIdName}}s = indexes.stream().map(index -> {{batchUpdateRequestDTOVariableName}}List.get(index).get{{entityIdProperty}}()).collect(Collectors.toList());
+        Map<{{entityIdType}}, {{entityName}}> {{entityVariableName}}Map = {{repositoryVariableName}}.findAllById({{entityIdName}}s).stream()
+                .collect(Collectors.toMap({{entityVariableName}} -> {{entityVariableName}}.get{{entityIdProperty}}(), {{entityVariableName}} -> {{entityVariableName}}));
+        for (Integer index : indexes) {
+            {{batchUpdateRequestDTOName}} {{batchUpdateRequestDTOVariableName}} = {{batchUpdateRequestDTOVariableName}}List.get(index);
+            {{entityName}} {{entityVariableName}} = {{entityVariableName}}Map.get({{batchUpdateRequestDTOVariableName}}.get{{entityIdProperty}}());
+            if (ESObjectUtils.isNull({{entityVariableName}})) {
+                results.get(index).setSuccess(false);
+                results.get(index).setMessage("{{entityDescription}}不存在");
+                continue;
+            }
+            ESBeanUtils.copyWithoutNullAndIgnoreProperties({{batchUpdateRequestDTOVariableName}}.getData(), {{entityVariableName}});
+            results.get(index).setData(generate({{entityVariableName}}));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * 写入前逐条校验整批请求，校验不通过的条目记为失败且不写入
+     **/
+    private List<{{batchResultDTOName}}> validateBatch(List<?> items) {
+        if (ESObjectUtils.isNull(items) || items.isEmpty()) {
+            throw new BusinessException("批量请求不能为空");
+        }
+        List<{{batchResultDTOName}}> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            String message = ESObjectUtils.isNull(item) ? "请求对象不能为空" : validator.validate(item).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(";"));
+            results.add(new {{batchResultDTOName}}(i, message.isEmpty(), message.isEmpty() ? null : message, null));
+        }
+        return results;
+    }
+
+{{/batch}}
+{{#sortConversion}}
+    /**
+     * 排序条件转换为Spring Data的排序
+     **/
+    protected Sort toSort(List<SortData> sortDataList) {
+        if (ESObjectUtils.isNull(sortDataList) || sortDataList.isEmpty()) {
+            return Sort.unsorted();
+        }
+        return Sort.by(sortDataList.stream()
+                .map(sortData -> new Sort.Order(Sort.Direction.fromString(String.valueOf(sortData.getDirection())), sortData.getProperty()))
+                .collect(Collectors.toList()));
+    }
+
+{{/sortConversion}}
+    @Override
+    public {{responseDTOName}} generate({{entityName}} {{entityVariableName}}) {
+        {{responseDTOName}} {{responseDTOVariableName}} = new {{responseDTOName}}();
+        ESBeanUtils.copyProperties({{entityVariableName}}, {{responseDTOVariableName}});
+        return {{responseDTOVariableName}};
+    }
+}
@@ -0,0 +1,67 @@
+/** {{entityDescription}}服务接口类
+ * @author {{author}} {{date}} **/
+public interface {{serviceInterfaceName}} {
+
+    /**
+     * 创建
+     **/
+    {{responseDTOName}} create({{requestDTOName}} {{requestDTOVariableName}});
+
+    /**
+     * 更新
+     **/
+    {{responseDTOName}} update({{entityIdType}} {{entityIdName}}, {{requestDTOName}} {{requestDTOVariableName}});
+
+    /**
+     * 删除
+     **/
+    void deleteById({{entityIdType}} {{entityIdName}});
+{{#bulkDelete}}
+
+    /**
+     * 按id列表批量删除，返回删除的行数
+     **/
+    int deleteByIds(List<{{entityIdType}}> {{entityIdName}}s);
+{{/bulkDelete}}
+
+    /**
+     * 获取详细信息
+     **/
+    {{responseDTOName}} findById({{entityIdType}} {{entityIdName}});
+
+    /**
+     * 列表
+     **/
+    List<{{responseDTOName}}> list({{listRequestDTOName}} {{listRequestDTOVariableName}});
+
+    /**
+     * 分页
+     **/
+    PageResponseData<{{responseDTOName}}> page({{pageRequestDTOName}} {{pageRequestDTOVariableName}});
+{{#scroll}}
+
+    /**
+     * 滚动分页，从上一页最后一条之后继续查询，不统计总数
+     **/
+    List<{{responseDTOName}}> scroll({{scrollRequestDTOName}} {{scrollRequestDTOVariableName}});
+{{/scroll}}
+{{#stream}}
+
+    /**
+     * 流式列表，逐条转换后交给consumer处理，不在内存中保留整个结果集
+     **/
+    void stream({{listRequestDTOName}} {{listRequestDTOVariableName}}, Consumer<{{responseDTOName}}> consumer);
+{{/stream}}
+{{#batch}}
+
+    /**
+     * 批量创建，返回与请求一一对应的结果
+     **/
+    List<{{batchResultDTOName}}> createBatch(List<{{requestDTOName}}> {{requestDTOVariableName}}List);
+
+    /**
+     * 批量更新，返回与请求一一对应的结果
+     **/
+    List<{{batchResultDTOName}}> updateBatch(List<{{batchUpdateRequestDTOName}}> {{batchUpdateRequestDTOVariableName}}List);
+{{/batch}}
+}
@@ -1,68 +1,134 @@
 package com.wondernect.plugins.code.generator;
 
 import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiFileFactory;
 import com.intellij.psi.PsiJavaFile;
+import com.wondernect.plugins.code.generator.metrics.GenerationMetrics;
 import com.wondernect.plugins.code.generator.util.PsiUtils;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
  * 类创建器
  **/
 public class ClassCreator {
+    private String name;
+    private String content;
+    // 全限定名已由JavaSourceWriter以文本形式写入文件头，简单类名(生成的DTO等)在写入阶段通过索引解析
+    private Set<String> simpleNames;
     private PsiJavaFile javaFile;
     private Project project;
     private PsiUtils psiUtils;
+    private GenerationMetrics metrics;
 
-    private ClassCreator(Module module) {
+    private ClassCreator(Module module, GenerationMetrics metrics) {
         this.psiUtils = PsiUtils.of(module);
         this.project = module.getProject();
+        this.metrics = metrics;
     }
 
-    static ClassCreator of(Module module) {
-        return new ClassCreator(module);
+    static ClassCreator of(Module module, GenerationMetrics metrics) {
+        return new ClassCreator(module, metrics);
     }
 
-    ClassCreator init(String name, String content) {
-        javaFile = (PsiJavaFile) PsiFileFactory.getInstance(project).createFileFromText(name + ".java", JavaFileType.INSTANCE, content);
+    ClassCreator init(String name, JavaSourceWriter writer) {
+        this.name = name;
+        this.content = writer.toSource();
+        this.simpleNames = writer.getSimpleNames();
         return this;
     }
 
-    ClassCreator importClass(String className) {
-        if (org.apache.commons.lang3.StringUtils.isBlank(className)) {
-            return this;
-        }
-        psiUtils.findClass(className).ifPresent(javaFile::importClass);
-        return this;
+    String getFileName() {
+        return name + ".java";
     }
 
-    ClassCreator importClass(PsiClass psiClass) {
-        if (null == psiClass) {
-            return this;
-        }
-        javaFile.importClass(psiClass);
-        return this;
+    String getContent() {
+        return content;
     }
 
     And addTo(PsiDirectory psiDirectory) {
-        return new And(((PsiJavaFile)Optional.ofNullable(psiDirectory.findFile(javaFile.getName())).orElseGet(() -> {
-            psiUtils.format(javaFile);
-            return (PsiJavaFile)psiDirectory.add(javaFile);
+        return new And(((PsiJavaFile)Optional.ofNullable(psiDirectory.findFile(getFileName())).orElseGet(() -> {
+            PsiJavaFile resolvedJavaFile = getResolvedJavaFile();
+            return metrics.measure(GenerationMetrics.ADD_FILE, getFileName(), () -> (PsiJavaFile) psiDirectory.add(resolvedJavaFile));
         })).getClasses()[0]);
     }
 
+    /**
+     * 用生成内容替换已有文件的全部文本，文件本身(及打开的编辑器)保留
+     */
+    PsiFile replace(PsiFile existingFile) {
+        PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+        Document document = psiDocumentManager.getDocument(existingFile);
+        if (null == document) {
+            throw new CodeGenerationException("无法读取文件" + getFileName());
+        }
+        String text = getResolvedJavaFile().getText();
+        metrics.measure(GenerationMetrics.REPLACE_FILE, getFileName(), () -> {
+            document.setText(text);
+            psiDocumentManager.commitDocument(document);
+        });
+        return existingFile;
+    }
+
+    /**
+     * 补全导入后的生成内容(未格式化)，只修改内存中的文件，用于预览
+     */
+    String getResolvedText() {
+        return getResolvedJavaFile().getText();
+    }
+
+    /**
+     * 只把生成内容中变化的字段补到已有文件中，返回是否有改动
+     * @param previousFields 上次由生成器写入的字段名，只有其中的字段会因实体中不存在而被删除
+     */
+    boolean patch(PsiJavaFile existingFile, Set<String> previousFields, boolean reformat) {
+        PsiJavaFile javaFile = getJavaFile();
+        return metrics.measure(GenerationMetrics.PATCH_FILE, getFileName(), () -> DtoFieldPatcher.patch(javaFile, existingFile, previousFields, reformat));
+    }
+
+    /**
+     * 生成内容中的字段名，按声明顺序
+     */
+    List<String> getFieldNames() {
+        List<String> fieldNames = new ArrayList<>();
+        for (PsiField field : getJavaFile().getClasses()[0].getFields()) {
+            fieldNames.add(field.getName());
+        }
+        return fieldNames;
+    }
+
     ClassCreator addGetterAndSetterMethods() {
-        PsiClass aClass = javaFile.getClasses()[0];
+        PsiClass aClass = getJavaFile().getClasses()[0];
         psiUtils.addGetterAndSetterMethods(aClass);
         return this;
     }
 
+    private PsiJavaFile getResolvedJavaFile() {
+        PsiJavaFile javaFile = getJavaFile();
+        simpleNames.forEach(className -> metrics.measure(GenerationMetrics.FIND_CLASS, className, () -> psiUtils.findClass(className)).ifPresent(javaFile::importClass));
+        return javaFile;
+    }
+
+    private PsiJavaFile getJavaFile() {
+        if (null == javaFile) {
+            javaFile = metrics.measure(GenerationMetrics.CREATE_FILE, getFileName(), () -> (PsiJavaFile) PsiFileFactory.getInstance(project).createFileFromText(getFileName(), JavaFileType.INSTANCE, content));
+        }
+        return javaFile;
+    }
+
     public static class And {
         private PsiClass psiClass;
 
@@ -0,0 +1,13 @@
+package com.wondernect.plugins.code.generator;
+
+/**
+ * 代码生成异常，message直接展示给用户
+ **/
+public class CodeGenerationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CodeGenerationException(String message) {
+        super(message);
+    }
+}
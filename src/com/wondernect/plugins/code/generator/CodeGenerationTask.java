@@ -0,0 +1,470 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.wondernect.plugins.code.generator.dialog.GenerationPreviewDialog;
+import com.wondernect.plugins.code.generator.index.EntitySignatureIndex;
+import com.wondernect.plugins.code.generator.metrics.GenerationDiagnostics;
+import com.wondernect.plugins.code.generator.metrics.GenerationMetrics;
+import com.wondernect.plugins.code.generator.settings.GenerationRecords;
+import com.wondernect.plugins.code.generator.settings.GeneratorSettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 代码生成后台任务
+ * 实体分析与源码渲染在后台可取消的读操作中执行，写操作优先(读操作被写操作打断后重试)；
+ * 选中目录或包时通过实体签名索引查找目标注解类(不加载语法树)，并在多核上并行分析；
+ * 只有最终的PSI写入回到EDT，每个实体一个写命令，同一批次的写命令撤销时合并为一步，新文件在最后统一格式化(可在配置中关闭)；
+ * 实体之间及文件之间检查是否已取消，写入的文件登记到生成日志，取消或写入失败时整批回滚，重试时复用已分析且未变化的实体；
+ * 每次生成记录实体指纹与文件指纹，只重新生成过期代码时跳过指纹未变化的实体；
+ * 各阶段(分析渲染、类查找、创建文件、写入、格式化)的耗时与分配记录在生成统计工具窗口中；
+ * 预览模式只在内存中渲染所有文件并展示与已有文件的差异，确认后复用分析结果只写入勾选的文件
+ **/
+public class CodeGenerationTask extends Task.Backgroundable {
+
+    static final String NOTIFICATION_GROUP = "Wondernect Code Generator";
+
+    private PsiElement[] targets;
+    private Collection<String> targetAnnotations;
+    private Predicate<PsiJavaFile> targetFilter;
+    private String emptyMessage;
+    private Function<PsiFile, List<CodeGenerator>> codeGeneratorFactory;
+    private boolean staleOnly;
+    private boolean preview;
+    private List<GenerationPlan.PreviewFile> previewFiles;
+    private GenerationRecords records;
+    private List<EntityJob> jobs;
+    // 重试时沿用的上次实体列表
+    private List<EntityJob> resumeJobs;
+    private GenerationJournal journal;
+    // 同一批次的写命令使用同一组id，撤销时合并为一步
+    private String commandGroupId;
+    private int rolledBackFiles;
+    private Throwable rollbackError;
+    private GenerationMetrics metrics;
+    private long start;
+
+    /**
+     * @param targets              选中的文件、目录或包
+     * @param targetAnnotation     目录或包下需要处理的类的注解，如javax.persistence.Entity
+     * @param codeGeneratorFactory 为每个实体文件创建代码生成器
+     */
+    public CodeGenerationTask(Project project, PsiElement[] targets, String targetAnnotation, Function<PsiFile, CodeGenerator> codeGeneratorFactory) {
+        this(project, targets, Collections.singleton(targetAnnotation), javaFile -> true, "所选范围内没有" + targetAnnotation + "注解类",
+                psiFile -> Collections.singletonList(codeGeneratorFactory.apply(psiFile)), false);
+    }
+
+    /**
+     * @param targetAnnotations    目录或包下需要处理的类的注解，带有任一注解的类为候选
+     * @param targetFilter         从候选中筛选需要处理的文件
+     * @param emptyMessage         所选范围内没有需要处理的文件时的提示
+     * @param codeGeneratorFactory 为每个实体文件创建代码生成器，可以有多个(如同一实体的crud与excel)
+     * @param staleOnly            只重新生成实体指纹变化的实体
+     */
+    CodeGenerationTask(Project project, PsiElement[] targets, Collection<String> targetAnnotations, Predicate<PsiJavaFile> targetFilter, String emptyMessage, Function<PsiFile, List<CodeGenerator>> codeGeneratorFactory, boolean staleOnly) {
+        super(project, "Wondernect代码生成", true);
+        this.targets = targets;
+        this.targetAnnotations = targetAnnotations;
+        this.targetFilter = targetFilter;
+        this.emptyMessage = emptyMessage;
+        this.codeGeneratorFactory = codeGeneratorFactory;
+        this.staleOnly = staleOnly;
+        this.records = GenerationRecords.getInstance(project);
+    }
+
+    /**
+     * 重试被取消或失败的生成，或写入预览中勾选的文件：沿用上次的实体列表，已分析且实体未变化的实体复用分析结果，其余实体重新分析
+     */
+    private CodeGenerationTask(CodeGenerationTask previous, List<EntityJob> resumeJobs) {
+        this(previous.myProject, previous.targets, previous.targetAnnotations, previous.targetFilter, previous.emptyMessage, previous.codeGeneratorFactory, previous.staleOnly);
+        this.resumeJobs = resumeJobs;
+    }
+
+    /**
+     * 只预览不写入，确认后再写入勾选的文件
+     */
+    public CodeGenerationTask preview() {
+        this.preview = true;
+        return this;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        start = System.currentTimeMillis();
+        metrics = new GenerationMetrics(getTitle());
+        journal = new GenerationJournal(records);
+        commandGroupId = "wondernect.code.generation." + System.nanoTime();
+        indicator.setIndeterminate(true);
+        DumbService dumbService = DumbService.getInstance(myProject);
+        while (true) {
+            dumbService.waitForSmartMode();
+            List<EntityJob> preparedJobs = new ArrayList<>();
+            // 取消时保留已分析的实体，供重试复用
+            jobs = preparedJobs;
+            if (ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> {
+                if (!dumbService.isDumb()) {
+                    // 使用写操作敏感的包装indicator，写操作到来时并行的分析线程也会一同取消
+                    prepareAll(preparedJobs, ProgressManager.getInstance().getProgressIndicator());
+                }
+            }, indicator) && !preparedJobs.isEmpty()) {
+                break;
+            }
+            indicator.checkCanceled();
+            ProgressIndicatorUtils.yieldToPendingWriteActions();
+        }
+        if (preview) {
+            indicator.setText("生成预览");
+            previewFiles = ApplicationManager.getApplication().runReadAction((Computable<List<GenerationPlan.PreviewFile>>) () -> previewAll(indicator));
+        } else {
+            writeAll(indicator);
+        }
+    }
+
+    private void prepareAll(List<EntityJob> preparedJobs, ProgressIndicator indicator) {
+        indicator.setText("查找实体");
+        if (null != resumeJobs) {
+            preparedJobs.addAll(resumeJobs);
+        } else {
+            for (PsiFile psiFile : collectFiles()) {
+                for (CodeGenerator codeGenerator : codeGeneratorFactory.apply(psiFile)) {
+                    preparedJobs.add(new EntityJob(psiFile, codeGenerator));
+                }
+            }
+        }
+        if (preparedJobs.isEmpty()) {
+            throw new CodeGenerationException(emptyMessage);
+        }
+        indicator.setIndeterminate(false);
+        // 各实体互不依赖，在多核上并行分析与渲染
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(preparedJobs, indicator, job -> {
+            job.prepare(indicator, metrics, records, staleOnly);
+            return true;
+        });
+    }
+
+    /**
+     * 预览阶段：在内存中计算所有文件写入后的内容，不修改项目
+     */
+    private List<GenerationPlan.PreviewFile> previewAll(ProgressIndicator indicator) {
+        List<GenerationPlan.PreviewFile> files = new ArrayList<>();
+        for (EntityJob job : jobs) {
+            indicator.checkCanceled();
+            if (null != job.plan) {
+                files.addAll(job.plan.preview(job.entityName, records));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 写入阶段：逐个实体在写命令中写入，实体之间及文件之间检查是否已取消；
+     * 取消或任一实体写入失败时按生成日志在一个写命令中回滚整批改动后重新抛出
+     */
+    private void writeAll(ProgressIndicator indicator) {
+        List<EntityJob> writableJobs = jobs.stream().filter(job -> null != job.plan).collect(Collectors.toList());
+        if (writableJobs.isEmpty()) {
+            return;
+        }
+        String commandName = writableJobs.size() == 1 ? writableJobs.get(0).plan.getCommandName() : "Generate code for " + writableJobs.size() + " entities";
+        boolean reformat = GeneratorSettings.getInstance(myProject).isReformat();
+        List<PsiFile> writtenFiles = new ArrayList<>();
+        indicator.setText("写入文件");
+        try {
+            metrics.measure(GenerationMetrics.WRITE, null, () -> {
+                for (int i = 0; i < writableJobs.size(); i++) {
+                    indicator.checkCanceled();
+                    EntityJob job = writableJobs.get(i);
+                    indicator.setText2(job.entityName);
+                    indicator.setFraction((double) i / writableJobs.size());
+                    runWriteCommand(commandName, () -> job.write(writtenFiles, records, journal, reformat, indicator));
+                }
+                indicator.setText2(null);
+                if (reformat) {
+                    indicator.setText("格式化代码");
+                    // 所有文件写入后统一格式化一次，而不是每个文件写入时单独格式化
+                    runWriteCommand(commandName, () -> {
+                        CodeStyleManager codeStyleManager = CodeStyleManager.getInstance(myProject);
+                        for (PsiFile file : writtenFiles) {
+                            indicator.checkCanceled();
+                            if (file.isValid()) {
+                                metrics.measure(GenerationMetrics.REFORMAT, file.getName(), () -> codeStyleManager.reformat(file));
+                            }
+                        }
+                    });
+                }
+                // 记录最终内容，下次生成时据此判断文件是否被手工修改过
+                runWriteCommand(commandName, () -> writtenFiles.stream().filter(PsiFile::isValid).forEach(file -> {
+                    String artifactKey = records.artifactKey(file.getVirtualFile().getPath());
+                    journal.artifact(artifactKey);
+                    records.putArtifactContent(artifactKey, file.getText());
+                }));
+            });
+        } catch (RuntimeException | Error e) {
+            rollback(commandName);
+            throw e;
+        }
+    }
+
+    private void rollback(String commandName) {
+        if (journal.isEmpty()) {
+            return;
+        }
+        rolledBackFiles = journal.getFileCount();
+        try {
+            runWriteCommand(commandName, () -> journal.rollback(myProject));
+        } catch (RuntimeException | Error e) {
+            rollbackError = e;
+        }
+    }
+
+    /**
+     * 在EDT上执行写命令，命令中的异常(包括取消)在当前线程重新抛出
+     */
+    private void runWriteCommand(String commandName, Runnable runnable) {
+        Throwable[] error = new Throwable[1];
+        ApplicationManager.getApplication().invokeAndWait(() -> WriteCommandAction.runWriteCommandAction(myProject, commandName, commandGroupId, () -> {
+            try {
+                runnable.run();
+            } catch (RuntimeException | Error e) {
+                error[0] = e;
+            }
+        }), ModalityState.defaultModalityState());
+        if (error[0] instanceof RuntimeException) {
+            throw (RuntimeException) error[0];
+        }
+        if (error[0] instanceof Error) {
+            throw (Error) error[0];
+        }
+    }
+
+    /**
+     * 选中的文件直接处理，选中的目录或包按目标注解在索引中查找，只加载候选实体的stub
+     */
+    private Set<PsiFile> collectFiles() {
+        Set<PsiFile> files = new LinkedHashSet<>();
+        List<VirtualFile> directories = new ArrayList<>();
+        for (PsiElement target : targets) {
+            if (target instanceof PsiJavaFile) {
+                files.add((PsiFile) target);
+            } else if (target instanceof PsiDirectory) {
+                directories.add(((PsiDirectory) target).getVirtualFile());
+            } else if (target instanceof PsiPackage) {
+                for (PsiDirectory directory : ((PsiPackage) target).getDirectories()) {
+                    directories.add(directory.getVirtualFile());
+                }
+            }
+        }
+        if (!directories.isEmpty()) {
+            GlobalSearchScope scope = GlobalSearchScopesCore.directoriesScope(myProject, true, directories.toArray(VirtualFile.EMPTY_ARRAY));
+            for (String targetAnnotation : targetAnnotations) {
+                EntitySignatureIndex.findFiles(myProject, targetAnnotation, scope).stream().filter(targetFilter).forEach(files::add);
+            }
+        }
+        return files;
+    }
+
+    @Override
+    public void onSuccess() {
+        if (preview) {
+            showPreview();
+            return;
+        }
+        jobs.stream()
+                .filter(job -> null != job.record && null != job.result && job.result.getStatus() != GenerationResult.Status.ERROR)
+                .forEach(job -> records.putEntity(job.record));
+        GenerationDiagnostics.getInstance(myProject).publish(metrics);
+        long elapsed = System.currentTimeMillis() - start;
+        if (jobs.size() == 1) {
+            GenerationResult result = jobs.get(0).result;
+            notify(result.getStatus() == GenerationResult.Status.ERROR ? result.getMessage() : "执行完毕，耗时" + elapsed + "ms", result.getStatus() == GenerationResult.Status.ERROR ? NotificationType.ERROR : NotificationType.INFORMATION);
+            return;
+        }
+        boolean hasError = jobs.stream().anyMatch(job -> job.result.getStatus() == GenerationResult.Status.ERROR);
+        long unchanged = jobs.stream().filter(job -> job.result.getStatus() == GenerationResult.Status.UNCHANGED).count();
+        // 未变化的实体只汇总数量
+        notify("执行完毕，共" + jobs.size() + "个实体" + (unchanged == 0 ? "" : "(" + unchanged + "个未变化)") + "，耗时" + elapsed + "ms<br>" +
+                        jobs.stream().filter(job -> job.result.getStatus() != GenerationResult.Status.UNCHANGED).map(job -> job.result.toString()).collect(Collectors.joining("<br>")),
+                hasError ? NotificationType.WARNING : NotificationType.INFORMATION);
+    }
+
+    /**
+     * 展示预览，确认后复用分析结果写入勾选的文件，没有勾选文件的实体不再处理
+     */
+    private void showPreview() {
+        GenerationDiagnostics.getInstance(myProject).publish(metrics);
+        String errors = jobs.stream().filter(job -> null != job.result && job.result.getStatus() == GenerationResult.Status.ERROR)
+                .map(job -> "<br>" + job.result).collect(Collectors.joining());
+        if (previewFiles.isEmpty()) {
+            notify("没有需要生成的文件" + errors, errors.isEmpty() ? NotificationType.INFORMATION : NotificationType.WARNING);
+            return;
+        }
+        if (!errors.isEmpty()) {
+            notify("以下实体无法生成" + errors, NotificationType.WARNING);
+        }
+        GenerationPreviewDialog dialog = new GenerationPreviewDialog(myProject, previewFiles);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+        List<GenerationPlan.PreviewFile> selectedFiles = dialog.getSelectedFiles();
+        List<EntityJob> selectedJobs = jobs.stream().filter(job -> null != job.plan && job.plan.select(selectedFiles)).collect(Collectors.toList());
+        if (selectedJobs.isEmpty()) {
+            return;
+        }
+        selectedJobs.forEach(job -> job.previewed = true);
+        ProgressManager.getInstance().run(new CodeGenerationTask(this, selectedJobs));
+    }
+
+    @Override
+    public void onCancel() {
+        // 取消前的统计同样保留，便于分析耗时过长被取消的生成
+        publishMetrics();
+        notifyWithRetry("已取消" + getRollbackMessage(), NotificationType.INFORMATION);
+    }
+
+    @Override
+    public void onThrowable(@NotNull Throwable error) {
+        publishMetrics();
+        if (error instanceof ProcessCanceledException) {
+            return;
+        }
+        notifyWithRetry((error instanceof CodeGenerationException ? error.getMessage() : "执行失败: " + error) + getRollbackMessage(), NotificationType.ERROR);
+    }
+
+    private String getRollbackMessage() {
+        if (null != rollbackError) {
+            return "<br>回滚失败，部分文件可能已写入: " + rollbackError;
+        }
+        return rolledBackFiles == 0 ? "" : "<br>已回滚本次写入的" + rolledBackFiles + "个文件";
+    }
+
+    private void publishMetrics() {
+        if (null != metrics) {
+            GenerationDiagnostics.getInstance(myProject).publish(metrics);
+        }
+    }
+
+    private void notify(String content, NotificationType type) {
+        Notifications.Bus.notify(new Notification(NOTIFICATION_GROUP, getTitle(), content, type), myProject);
+    }
+
+    /**
+     * 有已找到的实体时附带重试操作
+     */
+    private void notifyWithRetry(String content, NotificationType type) {
+        Notification notification = new Notification(NOTIFICATION_GROUP, getTitle(), content, type);
+        if (null != jobs && !jobs.isEmpty()) {
+            notification.addAction(new NotificationAction("重试") {
+                @Override
+                public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+                    notification.expire();
+                    ProgressManager.getInstance().run(new CodeGenerationTask(CodeGenerationTask.this, jobs));
+                }
+            });
+        }
+        Notifications.Bus.notify(notification, myProject);
+    }
+
+    private static class EntityJob {
+        private PsiFile psiFile;
+        private CodeGenerator codeGenerator;
+        private String entityName;
+        private GenerationRecords.EntityRecord record;
+        private GenerationPlan plan;
+        private GenerationResult result;
+        // 已预览并勾选了文件，只写入预览时的分析结果
+        private boolean previewed;
+
+        private EntityJob(PsiFile psiFile, CodeGenerator codeGenerator) {
+            this.psiFile = psiFile;
+            this.codeGenerator = codeGenerator;
+            this.entityName = FileUtil.getNameWithoutExtension(psiFile.getName());
+        }
+
+        private void prepare(ProgressIndicator indicator, GenerationMetrics metrics, GenerationRecords records, boolean staleOnly) {
+            try {
+                if (previewed && (null == plan || !isUnchanged())) {
+                    // 实体在预览后被修改，写入的内容会与预览不一致
+                    plan = null;
+                    result = GenerationResult.error(entityName, new CodeGenerationException("实体在预览后已变化，请重新预览"));
+                    return;
+                }
+                if (null != plan && isUnchanged()) {
+                    // 重试时实体与生成配置都未变化，复用上次的分析结果
+                    result = null;
+                    return;
+                }
+                plan = null;
+                record = null;
+                result = null;
+                if (staleOnly) {
+                    record = codeGenerator.record();
+                    if (records.isUpToDate(record)) {
+                        // 实体与生成配置都未变化，无需分析与渲染
+                        result = GenerationResult.unchanged(entityName);
+                        return;
+                    }
+                }
+                plan = metrics.measure(GenerationMetrics.PREPARE, entityName, () -> codeGenerator.prepare(indicator, metrics));
+                if (null == record) {
+                    record = codeGenerator.record();
+                }
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Throwable e) {
+                plan = null;
+                record = null;
+                result = GenerationResult.error(entityName, e);
+            }
+        }
+
+        private boolean isUnchanged() {
+            return psiFile.isValid() && null != record && record.fingerprint.equals(codeGenerator.record().fingerprint);
+        }
+
+        /**
+         * 写入失败时抛出，由调用方回滚整批改动
+         */
+        private void write(List<PsiFile> writtenFiles, GenerationRecords records, GenerationJournal journal, boolean reformat, ProgressIndicator indicator) {
+            try {
+                int written = plan.write(writtenFiles, records, journal, reformat, indicator);
+                result = written == 0 ? GenerationResult.skipped(entityName, "文件均为最新或已被手工修改") : GenerationResult.success(entityName, plan.getCreated(), plan.getUpdated());
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                result = GenerationResult.error(entityName, e);
+                throw new CodeGenerationException(result.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.wondernect.plugins.code.generator.metrics.GenerationMetrics;
+import com.wondernect.plugins.code.generator.settings.GenerationRecords;
+
+/**
+ * 代码生成器
+ **/
+public interface CodeGenerator {
+
+    /**
+     * 生成记录：实体、生成参数及所有生成输入的指纹，在读操作中调用，实体签名取自索引，不加载语法树，开销远小于prepare
+     */
+    GenerationRecords.EntityRecord record();
+
+    /**
+     * 读取阶段：在后台读操作中分析实体并在内存中渲染所有待生成文件，不修改项目
+     * @param metrics 记录类查找、创建文件等各阶段的耗时与分配
+     */
+    GenerationPlan prepare(ProgressIndicator indicator, GenerationMetrics metrics);
+}
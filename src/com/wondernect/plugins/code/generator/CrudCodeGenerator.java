@@ -0,0 +1,110 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.FileIndexFacade;
+import com.intellij.psi.*;
+import com.wondernect.plugins.code.generator.index.EntitySignatureIndex;
+import com.wondernect.plugins.code.generator.metrics.GenerationMetrics;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfile;
+import com.wondernect.plugins.code.generator.settings.GenerationRecords;
+import com.wondernect.plugins.code.generator.settings.GeneratorSettings;
+import com.wondernect.plugins.code.generator.template.TemplateEngine;
+import com.wondernect.plugins.code.generator.util.EntityModelReader;
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+import com.wondernect.plugins.code.generator.util.PsiUtils;
+
+import java.util.*;
+
+/**
+ * CRUD代码生成器
+ * 各基础模型(BaseModel、BaseRDBModel、BaseStringModel、BaseLongModel等)的差异全部由BaseModelProfile描述
+ **/
+public class CrudCodeGenerator implements CodeGenerator {
+
+    private PsiDirectory workDir;
+
+    private Project project;
+    private PsiFile psiFile;
+    private PsiDirectory containerDirectory;
+    private String currentDirectory;
+    private PsiUtils psiUtils;
+    private Module module;
+    private BaseModelProfile profile;
+    private String author;
+    private String version;
+    private String service;
+
+    public CrudCodeGenerator(Project project, PsiFile psiFile, BaseModelProfile profile, String author, String version, String service) {
+        this.project = project;
+        this.psiFile = psiFile;
+        this.profile = profile;
+        this.author = author;
+        this.version = version;
+        this.service = service;
+    }
+
+    @Override
+    public GenerationRecords.EntityRecord record() {
+        PsiClass psiClass = ((PsiJavaFile) psiFile).getClasses()[0];
+        // 实体签名取自索引，判断实体是否变化不需要加载语法树
+        String fingerprint = Fingerprints.of(
+                EntitySignatureIndex.getSignature((PsiJavaFile) psiFile, profile.getEntityAnnotation()),
+                profile.fingerprint(),
+                TemplateEngine.of(project.getBasePath()).fingerprint(CrudSourceRenderer.TEMPLATES),
+                author, version, service,
+                // 目录布局变化后生成位置不同
+                GeneratorSettings.formatLayers(GeneratorSettings.getInstance(project).getLayers())
+        );
+        return new GenerationRecords.EntityRecord(psiClass.getQualifiedName(), GenerationRecords.EntityRecord.CRUD, profile.getId(), author, version, service, fingerprint);
+    }
+
+    @Override
+    public GenerationPlan prepare(ProgressIndicator indicator, GenerationMetrics metrics) {
+        PsiJavaFile javaFile = (PsiJavaFile) psiFile;
+        PsiClass[] classes = javaFile.getClasses();
+        if (classes.length == 0) {
+            throw new CodeGenerationException("所选文件中没有类");
+        }
+        PsiClass psiClass = classes[0];
+        if (null == psiClass.getAnnotation(profile.getEntityAnnotation())) {
+            // 只处理被基础模型指定注解(默认为Entity)注解的类
+            String annotationName = profile.getEntityAnnotation().substring(profile.getEntityAnnotation().lastIndexOf('.') + 1);
+            throw new CodeGenerationException("所选实体类非" + annotationName + "注解类");
+        }
+        // 获取当前实体所在目录的上级目录
+        containerDirectory = psiClass.getContainingFile().getContainingDirectory();
+        currentDirectory = containerDirectory.getName();
+        if (currentDirectory.contains("model") || currentDirectory.contains("entity")) {
+            currentDirectory = null;
+        }
+        workDir = containerDirectory.getParentDirectory();
+        if (currentDirectory != null) {
+            workDir = workDir.getParentDirectory();
+        }
+        module = FileIndexFacade.getInstance(project).getModuleForFile(classes[0].getContainingFile().getVirtualFile());
+        psiUtils = PsiUtils.of(module);
+        EntityClass entityClass = new EntityClass(author, version, service);
+        entityClass.setEntityModel(EntityModelReader.read(psiClass));
+        indicator.setText("分析实体: " + entityClass.getEntityName());
+        CrudSourceRenderer renderer = new CrudSourceRenderer(
+                TemplateEngine.of(project.getBasePath()),
+                profile,
+                className -> metrics.measure(GenerationMetrics.FIND_CLASS, className, () -> psiUtils.findClass(className)).map(PsiClass::getQualifiedName).orElse(null),
+                currentDirectory
+        );
+        List<GeneratedSource> sources = renderer.render(entityClass);
+        GenerationPlan plan = new GenerationPlan("Generate CRUD for " + entityClass.getEntityName(), entityClass.getDate(), WorkspaceLayoutIndex.getInstance(project).getLayout(workDir));
+        for (GeneratedSource source : sources) {
+            indicator.checkCanceled();
+            ClassCreator classCreator = ClassCreator.of(module, metrics).init(source.getClassName(), source.getWriter());
+            if (source.isPatchable()) {
+                plan.addPatchable(source.getDir(), classCreator);
+            } else {
+                plan.add(source.getDir(), classCreator);
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,620 @@
+package com.wondernect.plugins.code.generator;
+
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfile;
+import com.wondernect.plugins.code.generator.template.TemplateEngine;
+import com.wondernect.plugins.code.generator.util.PsiStringUtils;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * CRUD源码渲染器，不依赖IDE，插件与命令行生成器共用
+ * 根据实体模型与基础模型配置渲染各层源码，文件写入由调用方负责
+ **/
+public class CrudSourceRenderer {
+
+    // 用到的模板，模板变化时实体指纹随之变化
+    public static final String[] TEMPLATES = {
+            "list_projection", "repository", "dao", "manager", "request_dto", "response_dto", "list_request_dto", "page_request_dto",
+            "scroll_request_dto", "batch_update_request_dto", "batch_result_dto", "service_interface", "service_abstract", "service", "controller"
+    };
+
+    private TemplateEngine templateEngine;
+    private BaseModelProfile profile;
+    // 基础类名(简单名或全限定名)解析为全限定名，找不到时返回null，对应的类不生成
+    private Function<String, String> classResolver;
+    // 实体所在的子目录，如model/student下的实体为student，为空时生成在各层根目录
+    private String currentDirectory;
+
+    public CrudSourceRenderer(TemplateEngine templateEngine, BaseModelProfile profile, Function<String, String> classResolver, String currentDirectory) {
+        this.templateEngine = templateEngine;
+        this.profile = profile;
+        this.classResolver = classResolver;
+        this.currentDirectory = currentDirectory;
+    }
+
+    /**
+     * 渲染实体的各层源码，entityClass需已设置实体模型
+     */
+    public List<GeneratedSource> render(EntityClass entityClass) {
+        // 获取id主键类型
+        if (null != profile.getIdType()) {
+            // 主键由基础类提供
+            entityClass.setEntityIdType(profile.getIdType());
+            entityClass.setEntityIdName("id");
+        } else if (!generateEntityIdField(entityClass)) {
+            throw new CodeGenerationException("实体类缺少String或Long类型的@Id主键");
+        }
+        // 获取实体相关信息
+        if (null == entityClass.getEntityModel().getDescription()) {
+            throw new CodeGenerationException("实体类缺少ApiModel描述");
+        }
+        entityClass.setEntityDescription(entityClass.getEntityModel().getDescription());
+        List<GeneratedSource> sources = new ArrayList<>();
+        // 创建列表投影
+        if (profile.isListProjection()) {
+            createListProjection(entityClass, sources);
+        }
+        // 创建Repository
+        createRepository(entityClass, sources);
+        // 创建Dao
+        createDao(entityClass, sources);
+        // 创建Manager
+        createManager(entityClass, sources);
+        // 创建requestDTO
+        createRequestDTO(entityClass, sources);
+        // 创建responseDTO
+        createResponseDTO(entityClass, sources);
+        // 创建listRequestDTO
+        createListRequestDTO(entityClass, sources);
+        // 创建pageRequestDTO
+        createPageRequestDTO(entityClass, sources);
+        // 创建scrollRequestDTO
+        if (profile.isScroll()) {
+            createScrollRequestDTO(entityClass, sources);
+        }
+        // 创建批量更新请求与批量结果DTO
+        if (profile.isBatch()) {
+            createBatchDTOs(entityClass, sources);
+        }
+        // 创建service interface
+        createServiceInterface(entityClass, sources);
+        // 创建service abstract
+        createServiceAbstract(entityClass, sources);
+        // 创建service
+        createService(entityClass, sources);
+        // 创建controller
+        createController(entityClass, sources);
+        return sources;
+    }
+
+    /**
+     * 创建列表投影，列表与分页只查询投影中的列
+     */
+    private void createListProjection(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "repository" : "repository/" + currentDirectory;
+        entityClass.setListProjectionName(entityClass.getEntityName().concat("ListProjection"));
+        JavaSourceWriter writer = new JavaSourceWriter();
+        Map<String, Object> context = getTemplateContext(entityClass);
+        context.put("projectionFields", getProjectionFields(entityClass, writer));
+        writer.append(templateEngine.render("list_projection", context));
+        sources.add(new GeneratedSource(dir, entityClass.getListProjectionName(), writer, false));
+    }
+
+    /**
+     * 创建Repository
+     */
+    private void createRepository(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "repository" : "repository/" + currentDirectory;
+        entityClass.setRepositoryName(entityClass.getEntityName().concat("Repository"));
+        getBaseClass(
+                profile.getBaseRepository(),
+                baseRepositoryClass -> {
+                    JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                            entityClass.getEntityModel().getQualifiedName(),
+                            baseRepositoryClass,
+                            "java.util.List",
+                            "org.springframework.data.domain.Page",
+                            "org.springframework.data.domain.Pageable",
+                            "org.springframework.data.domain.Sort",
+                            "org.springframework.data.jpa.repository.Query",
+                            "org.springframework.data.repository.query.Param",
+                            "org.springframework.data.jpa.repository.QueryHints",
+                            "javax.persistence.QueryHint",
+                            "java.util.stream.Stream",
+                            "org.springframework.data.jpa.repository.Modifying",
+                            "org.springframework.transaction.annotation.Transactional",
+                            "java.util.Collection"
+                    );
+                    Map<String, Object> context = getTemplateContext(entityClass);
+                    if (profile.isListProjection()) {
+                        context.put("projectionSelect", getProjectionSelect(entityClass));
+                    }
+                    putQueryItemContext(entityClass, context);
+                    putScrollContext(entityClass, context, writer);
+                    writer.append(templateEngine.render("repository", context));
+                    sources.add(new GeneratedSource(dir, entityClass.getRepositoryName(), writer, false));
+                }
+        );
+    }
+
+    /**
+     * 创建Dao
+     */
+    private void createDao(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dao" : "dao/" + currentDirectory;
+        entityClass.setDaoName(entityClass.getEntityName().concat("Dao"));
+        getBaseClass(
+                profile.getBaseDao(),
+                baseDaoClass -> {
+                    JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                            "org.springframework.stereotype.Repository",
+                            entityClass.getEntityModel().getQualifiedName(),
+                            baseDaoClass
+                    );
+                    writer.append(templateEngine.render("dao", getTemplateContext(entityClass)));
+                    sources.add(new GeneratedSource(dir, entityClass.getDaoName(), writer, false));
+                }
+        );
+    }
+
+    /**
+     * 创建Manager
+     */
+    private void createManager(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "manager" : "manager/" + currentDirectory;
+        entityClass.setManagerName(entityClass.getEntityName().replace("Entity", "").concat("Manager"));
+        getBaseClass(
+                profile.getBaseManager(),
+                baseManagerClass -> {
+                    JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                            "org.springframework.stereotype.Service",
+                            entityClass.getEntityModel().getQualifiedName(),
+                            baseManagerClass
+                    );
+                    writer.append(templateEngine.render("manager", getTemplateContext(entityClass)));
+                    sources.add(new GeneratedSource(dir, entityClass.getManagerName(), writer, false));
+                }
+        );
+    }
+
+    /**
+     * 创建RequestDTO
+     */
+    private void createRequestDTO(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dto" : "dto/" + currentDirectory;
+        entityClass.setRequestDTOName("Save" + entityClass.getEntityName() + "RequestDTO");
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "lombok.AllArgsConstructor",
+                "io.swagger.annotations.ApiModel"
+        );
+        Map<String, Object> context = getTemplateContext(entityClass);
+        context.put("fields", getFieldsContentForREQDTO(entityClass, writer.fragment(1)));
+        writer.append(templateEngine.render("request_dto", context));
+        sources.add(new GeneratedSource(dir, entityClass.getRequestDTOName(), writer, true));
+    }
+
+    /**
+     * 创建ResponseDTO
+     */
+    private void createResponseDTO(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dto" : "dto/" + currentDirectory;
+        entityClass.setResponseDTOName(entityClass.getEntityName() + "ResponseDTO");
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "lombok.EqualsAndHashCode",
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "lombok.AllArgsConstructor",
+                "io.swagger.annotations.ApiModel",
+                profile.getBaseResponseDTO()
+        );
+        Map<String, Object> context = getTemplateContext(entityClass);
+        context.put("fields", getFieldsContentForRESDTO(entityClass, writer.fragment(1)));
+        writer.append(templateEngine.render("response_dto", context));
+        sources.add(new GeneratedSource(dir, entityClass.getResponseDTOName(), writer, true));
+    }
+
+    /**
+     * 创建ListRequestDTO
+     */
+    private void createListRequestDTO(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dto" : "dto/" + currentDirectory;
+        entityClass.setListRequestDTOName("List" + entityClass.getEntityName() + "RequestDTO");
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "lombok.EqualsAndHashCode",
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "io.swagger.annotations.ApiModel",
+                "com.wondernect.elements.rdb.request.ListRequestDTO"
+        );
+        writer.append(templateEngine.render("list_request_dto", getTemplateContext(entityClass)));
+        sources.add(new GeneratedSource(dir, entityClass.getListRequestDTOName(), writer, false));
+    }
+
+    /**
+     * 创建PageRequestDTO
+     */
+    private void createPageRequestDTO(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dto" : "dto/" + currentDirectory;
+        entityClass.setPageRequestDTOName("Page" + entityClass.getEntityName() + "RequestDTO");
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "lombok.EqualsAndHashCode",
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "io.swagger.annotations.ApiModel",
+                "com.wondernect.elements.rdb.request.PageRequestDTO"
+        );
+        writer.append(templateEngine.render("page_request_dto", getTemplateContext(entityClass)));
+        sources.add(new GeneratedSource(dir, entityClass.getPageRequestDTOName(), writer, false));
+    }
+
+    /**
+     * 创建ScrollRequestDTO，游标为上一页最后一条的排序键与主键
+     */
+    private void createScrollRequestDTO(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dto" : "dto/" + currentDirectory;
+        entityClass.setScrollRequestDTOName("Scroll" + entityClass.getEntityName() + "RequestDTO");
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "lombok.AllArgsConstructor",
+                "io.swagger.annotations.ApiModel",
+                "io.swagger.annotations.ApiModelProperty",
+                "com.fasterxml.jackson.annotation.JsonProperty",
+                "javax.validation.constraints.NotNull",
+                "javax.validation.constraints.Min",
+                "javax.validation.constraints.Max"
+        );
+        List<EntityField> cursorFields = new ArrayList<>();
+        getScrollKeyField(entityClass).ifPresent(keyField -> cursorFields.add(getCursorField(keyField.getName(), keyField.getQualifiedTypeName(), keyField.getDescription())));
+        String idDescription = entityClass.getEntityModel().getIdField().map(EntityField::getDescription).orElse("主键");
+        cursorFields.add(getCursorField(entityClass.getEntityIdName(), "java.lang." + entityClass.getEntityIdType(), idDescription));
+        Map<String, Object> context = getTemplateContext(entityClass);
+        context.put("fields", DtoFieldEmitter.responseFields(cursorFields, writer.fragment(1)));
+        writer.append(templateEngine.render("scroll_request_dto", context));
+        sources.add(new GeneratedSource(dir, entityClass.getScrollRequestDTOName(), writer, false));
+    }
+
+    /**
+     * 创建批量更新请求DTO(主键加更新内容)与逐条的批量结果DTO
+     */
+    private void createBatchDTOs(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "dto" : "dto/" + currentDirectory;
+        entityClass.setBatchUpdateRequestDTOName("BatchUpdate" + entityClass.getEntityName() + "RequestDTO");
+        entityClass.setBatchResultDTOName(entityClass.getEntityName() + "BatchResultDTO");
+        String[] types = {
+                "lombok.Data",
+                "lombok.NoArgsConstructor",
+                "lombok.AllArgsConstructor",
+                "io.swagger.annotations.ApiModel",
+                "io.swagger.annotations.ApiModelProperty",
+                "com.fasterxml.jackson.annotation.JsonProperty"
+        };
+        JavaSourceWriter updateWriter = new JavaSourceWriter().importTypes(types).importTypes(
+                entityClass.getRequestDTOName(),
+                "javax.validation.Valid",
+                "javax.validation.constraints.NotNull"
+        );
+        updateWriter.append(templateEngine.render("batch_update_request_dto", getTemplateContext(entityClass)));
+        sources.add(new GeneratedSource(dir, entityClass.getBatchUpdateRequestDTOName(), updateWriter, false));
+        JavaSourceWriter resultWriter = new JavaSourceWriter().importTypes(types).importTypes(
+                entityClass.getResponseDTOName()
+        );
+        resultWriter.append(templateEngine.render("batch_result_dto", getTemplateContext(entityClass)));
+        sources.add(new GeneratedSource(dir, entityClass.getBatchResultDTOName(), resultWriter, false));
+    }
+
+    /**
+     * 创建Service接口
+     */
+    private void createServiceInterface(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "service" : "service/" + currentDirectory;
+        entityClass.setServiceInterfaceName(entityClass.getEntityName().concat("Interface"));
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                entityClass.getRequestDTOName(),
+                entityClass.getResponseDTOName(),
+                entityClass.getListRequestDTOName(),
+                entityClass.getPageRequestDTOName(),
+                entityClass.getScrollRequestDTOName(),
+                entityClass.getBatchUpdateRequestDTOName(),
+                entityClass.getBatchResultDTOName(),
+                "java.util.List",
+                "java.util.function.Consumer",
+                "com.wondernect.elements.rdb.response.PageResponseData"
+        );
+        writer.append(templateEngine.render("service_interface", getTemplateContext(entityClass)));
+        sources.add(new GeneratedSource(dir, entityClass.getServiceInterfaceName(), writer, false));
+    }
+
+    /**
+     * 创建服务抽象类
+     */
+    private void createServiceAbstract(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "service" : "service/" + currentDirectory;
+        entityClass.setServiceAbstractName(entityClass.getEntityName().concat("AbstractService"));
+        getBaseClass(
+                profile.getBaseService(),
+                baseServiceClass -> {
+                    JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                            entityClass.getEntityModel().getQualifiedName(),
+                            entityClass.getRequestDTOName(),
+                            entityClass.getResponseDTOName(),
+                            entityClass.getListRequestDTOName(),
+                            entityClass.getPageRequestDTOName(),
+                            entityClass.getScrollRequestDTOName(),
+                            entityClass.getBatchUpdateRequestDTOName(),
+                            entityClass.getBatchResultDTOName(),
+                            "org.springframework.stereotype.Service",
+                            "org.springframework.transaction.annotation.Transactional",
+                            "java.util.List",
+                            baseServiceClass,
+                            "com.wondernect.elements.rdb.criteria.Criteria",
+                            "com.wondernect.elements.rdb.response.PageResponseData",
+                            "com.wondernect.elements.common.utils.ESBeanUtils",
+                            "com.wondernect.elements.common.utils.ESObjectUtils",
+                            "com.wondernect.elements.common.exception.BusinessException",
+                            entityClass.getRepositoryName(),
+                            entityClass.getListProjectionName(),
+                            "org.springframework.beans.factory.annotation.Autowired",
+                            "org.springframework.data.domain.Page",
+                            "org.springframework.data.domain.PageRequest",
+                            "org.springframework.data.domain.Sort",
+                            "com.wondernect.elements.rdb.request.SortData",
+                            "com.wondernect.elements.rdb.request.PageRequestData",
+                            "java.util.stream.Collectors",
+                            "java.util.stream.Stream",
+                            "java.util.function.Consumer",
+                            "javax.persistence.EntityManager",
+                            "javax.persistence.PersistenceContext",
+                            "javax.validation.Validator",
+                            "javax.validation.ConstraintViolation",
+                            "java.util.ArrayList",
+                            "java.util.HashSet",
+                            "java.util.Map",
+                            "java.util.Set",
+                            "java.util.Objects"
+                    );
+                    Map<String, Object> context = getTemplateContext(entityClass);
+                    if (profile.isListProjection()) {
+                        context.put("projectionFields", getProjectionFields(entityClass, writer));
+                    }
+                    putQueryItemContext(entityClass, context);
+                    putScrollContext(entityClass, context, writer);
+                    writer.append(templateEngine.render("service_abstract", context));
+                    sources.add(new GeneratedSource(dir, entityClass.getServiceAbstractName(), writer, false));
+                }
+        );
+    }
+
+    /**
+     * 创建服务实现类
+     */
+    private void createService(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "service" : "service/" + currentDirectory;
+        entityClass.setServiceName(entityClass.getEntityName().concat("Service"));
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                "org.springframework.stereotype.Service"
+        );
+        writer.append(templateEngine.render("service", getTemplateContext(entityClass)));
+        sources.add(new GeneratedSource(dir, entityClass.getServiceName(), writer, false));
+    }
+
+    /**
+     * 创建接口
+     */
+    private void createController(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "controller" : "controller/" + currentDirectory;
+        entityClass.setControllerName(entityClass.getEntityName().concat("Controller"));
+        JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                entityClass.getServiceName(),
+                entityClass.getRequestDTOName(),
+                entityClass.getResponseDTOName(),
+                entityClass.getListRequestDTOName(),
+                entityClass.getPageRequestDTOName(),
+                entityClass.getScrollRequestDTOName(),
+                entityClass.getBatchUpdateRequestDTOName(),
+                entityClass.getBatchResultDTOName(),
+                "org.springframework.beans.factory.annotation.Autowired",
+                "com.wondernect.elements.rdb.response.PageResponseData",
+                "org.springframework.web.bind.annotation.PostMapping",
+                "org.springframework.web.bind.annotation.GetMapping",
+                "io.swagger.annotations.Api",
+                "io.swagger.annotations.ApiOperation",
+                "io.swagger.annotations.ApiParam",
+                "java.util.List",
+                "org.springframework.web.bind.annotation.RequestMapping",
+                "org.springframework.web.bind.annotation.RestController",
+                "org.springframework.web.bind.annotation.RequestBody",
+                "org.springframework.web.bind.annotation.PathVariable",
+                "javax.validation.constraints.NotBlank",
+                "javax.validation.constraints.NotNull",
+                "javax.validation.constraints.NotEmpty",
+                "com.wondernect.elements.common.response.BusinessData",
+                "com.wondernect.elements.common.error.BusinessError",
+                "org.springframework.validation.annotation.Validated"
+        );
+        writer.append(templateEngine.render("controller", getTemplateContext(entityClass)));
+        // 在controller目录下创建Controller
+        sources.add(new GeneratedSource(dir, entityClass.getControllerName(), writer, false));
+    }
+
+    /**
+     * 获取base class
+     */
+    private void getBaseClass(String baseClassName, Consumer<String> consumer) {
+        String qualifiedName = classResolver.apply(baseClassName);
+        if (null != qualifiedName) {
+            consumer.accept(qualifiedName);
+        }
+    }
+
+    /**
+     * 模板上下文，实体信息加上基础类名
+     */
+    private Map<String, Object> getTemplateContext(EntityClass entityClass) {
+        Map<String, Object> context = entityClass.toTemplateContext();
+        profile.fillTemplateContext(context);
+        return context;
+    }
+
+    private boolean generateEntityIdField(EntityClass entityClass) {
+        Optional<EntityField> idField = entityClass.getEntityModel().getIdField();
+        if (!idField.isPresent()) {
+            return false;
+        }
+        String idType = idField.get().getTypeName();
+        if (!"String".equals(idType) && !"Long".equals(idType)) {
+            return false;
+        }
+        entityClass.setEntityIdType(idType);
+        entityClass.setEntityIdName(idField.get().getName());
+        return true;
+    }
+
+    /**
+     * 列表投影的列：基础类提供的主键、基础模型中的列及实体中除大字段外的普通列，即响应对象(含基础响应DTO)中列表需要的列；
+     * 静态、瞬时、关联与集合字段不是实体表中的列，查询它们会导致启动时查询校验失败或按子表行数重复；
+     * 基础模型的列优先取自实体的@MappedSuperclass父类，未读取到(如父类无法解析)时取基础模型配置中的baseColumns
+     */
+    private List<EntityField> getProjectionColumns(EntityClass entityClass) {
+        List<EntityField> baseColumns = entityClass.getEntityModel().getBaseFields().filter(fields -> !fields.isEmpty()).orElse(profile.getBaseColumns());
+        if (null == baseColumns) {
+            // 不知道基础模型的列时，基础响应DTO中的字段在列表中会为空
+            throw new CodeGenerationException("开启listProjection时需要基础模型的列，请在基础模型配置中填写baseColumns(如createTime:Long，没有时留空)");
+        }
+        Map<String, EntityField> columns = new LinkedHashMap<>();
+        if (null != profile.getIdType()) {
+            columns.put("id", new EntityField("id", "java.lang." + profile.getIdType(), true, "主键", null, false));
+        }
+        for (EntityField field : baseColumns) {
+            if (field.isColumn() && !field.isLarge()) {
+                columns.putIfAbsent(field.getName(), field);
+            }
+        }
+        for (EntityField field : entityClass.getEntityModel().getFields()) {
+            if (field.isColumn() && !field.isLarge()) {
+                columns.putIfAbsent(field.getName(), field);
+            }
+        }
+        return new ArrayList<>(columns.values());
+    }
+
+    private List<Map<String, Object>> getProjectionFields(EntityClass entityClass, JavaSourceWriter writer) {
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (EntityField column : getProjectionColumns(entityClass)) {
+            Map<String, Object> field = new HashMap<>();
+            String property = PsiStringUtils.firstLetterToUpper(column.getName());
+            field.put("name", column.getName());
+            field.put("type", writer.importType(column.getQualifiedTypeName()));
+            field.put("getter", "get" + property);
+            field.put("setter", "set" + property);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * 列表投影查询的select列表，别名与投影的属性名一致
+     */
+    private String getProjectionSelect(EntityClass entityClass) {
+        StringBuilder select = new StringBuilder();
+        for (EntityField column : getProjectionColumns(entityClass)) {
+            select.append(select.length() == 0 ? "" : ", ").append("e.").append(column.getName()).append(" as ").append(column.getName());
+        }
+        return select.toString();
+    }
+
+    /**
+     * 滚动分页的排序键：未配置scrollKey或配置为主键时按主键滚动，否则须为实体中非空且不是大字段的普通列，不满足时报错；
+     * 可为空的列在seek条件中会漏掉空值行，因此不作为排序键
+     */
+    private Optional<EntityField> getScrollKeyField(EntityClass entityClass) {
+        String scrollKey = profile.getScrollKey();
+        if (null == scrollKey || scrollKey.equals(entityClass.getEntityIdName())) {
+            return Optional.empty();
+        }
+        EntityField keyField = entityClass.getEntityModel().getFields().stream()
+                .filter(field -> field.getName().equals(scrollKey))
+                .findFirst()
+                .orElseThrow(() -> new CodeGenerationException("滚动分页的排序键" + scrollKey + "不是实体" + entityClass.getEntityName() + "的字段"));
+        String reason = null;
+        if (keyField.isId()) {
+            reason = "是主键";
+        } else if (!keyField.isColumn()) {
+            reason = "不是普通列(静态、瞬时或关联字段)";
+        } else if (!keyField.isNotNull()) {
+            reason = "可为空，请通过@Column(nullable = false)、columnDefinition中的not null或@NotNull声明非空";
+        } else if (keyField.isLarge()) {
+            reason = "是大字段";
+        }
+        if (null != reason) {
+            throw new CodeGenerationException("滚动分页的排序键" + scrollKey + reason);
+        }
+        return Optional.of(keyField);
+    }
+
+    /**
+     * 滚动分页的模板上下文：按(排序键, 主键)升序，seek条件从上一页最后一条之后开始，配合(排序键, 主键)联合索引时每页耗时与翻到第几页无关
+     */
+    private void putScrollContext(EntityClass entityClass, Map<String, Object> context, JavaSourceWriter writer) {
+        if (!profile.isScroll()) {
+            return;
+        }
+        Optional<EntityField> keyField = getScrollKeyField(entityClass);
+        String id = "e." + entityClass.getEntityIdName();
+        context.put("scrollById", !keyField.isPresent());
+        if (keyField.isPresent()) {
+            String key = "e." + keyField.get().getName();
+            context.put("scrollKeyType", writer.importType(keyField.get().getQualifiedTypeName()));
+            context.put("scrollKeyProperty", PsiStringUtils.firstLetterToUpper(keyField.get().getName()));
+            context.put("scrollIndex", keyField.get().getName() + ", " + entityClass.getEntityIdName());
+            context.put("scrollOrderBy", key + ", " + id);
+            context.put("scrollSeek", key + " > :lastKey or (" + key + " = :lastKey and " + id + " > :lastId)");
+        } else {
+            context.put("scrollIndex", entityClass.getEntityIdName());
+            context.put("scrollOrderBy", id);
+            context.put("scrollSeek", id + " > :lastId");
+        }
+    }
+
+    /**
+     * 滚动分页与流式读取查询的行类型：开启列表投影时只查询投影中的列，否则查询实体
+     */
+    private void putQueryItemContext(EntityClass entityClass, Map<String, Object> context) {
+        if (profile.isListProjection()) {
+            context.put("queryItemName", entityClass.getListProjectionName());
+            context.put("querySelect", getProjectionSelect(entityClass));
+            context.put("queryItemMapper", "generateListItem");
+        } else {
+            context.put("queryItemName", entityClass.getEntityName());
+            context.put("querySelect", "e");
+            context.put("queryItemMapper", "generate");
+        }
+    }
+
+    private EntityField getCursorField(String name, String qualifiedTypeName, String description) {
+        return new EntityField("last" + PsiStringUtils.firstLetterToUpper(name), qualifiedTypeName, false, "上一页最后一条的" + description, null, true);
+    }
+
+    private String getFieldsContentForREQDTO(EntityClass entityClass, JavaSourceWriter writer) {
+        return DtoFieldEmitter.requestFields(entityClass.getEntityModel().getFields(), writer);
+    }
+
+    private String getFieldsContentForRESDTO(EntityClass entityClass, JavaSourceWriter writer) {
+        for (EntityField field : entityClass.getEntityModel().getFields()) {
+            entityClass.getResponseFields().put(field.getName(), field.getQualifiedTypeName());
+            entityClass.getResponseFieldsDescription().put(field.getName(), field.getDescription());
+        }
+        return DtoFieldEmitter.responseFields(entityClass.getEntityModel().getFields(), writer);
+    }
+}
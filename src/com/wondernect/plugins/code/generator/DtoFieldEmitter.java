@@ -0,0 +1,72 @@
+package com.wondernect.plugins.code.generator;
+
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.model.TemporalKind;
+import com.wondernect.plugins.code.generator.util.PsiStringUtils;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+
+import java.util.List;
+
+/**
+ * 请求、响应DTO的字段写法，不依赖IDE
+ **/
+public final class DtoFieldEmitter {
+
+    private DtoFieldEmitter() {
+    }
+
+    /**
+     * 请求DTO字段，跳过主键，按长度与非空约束加上校验注解
+     */
+    public static String requestFields(List<EntityField> fields, JavaSourceWriter writer) {
+        for (EntityField field : fields) {
+            // @Id注解
+            if (field.isId()) {
+                continue;
+            }
+            String description = field.getDescription();
+            if (!writer.isEmpty()) {
+                writer.blankLine();
+            }
+            // 只有字符串的时候才有长度限制
+            if (null != field.getLength()) {
+                writer.annotation("org.hibernate.validator.constraints.Length", "max = " + field.getLength() + ", message = \"" + description + "长度不能超过" + field.getLength() + "\"");
+            }
+            // 如果是not null，需要加上NotNull校验 javax.validation.constraints
+            if (!field.isNullable() && !field.getTypeName().toLowerCase().contains("type")) {
+                if (field.isString()) {
+                    writer.annotation("javax.validation.constraints.NotBlank", "message = \"" + description + "不能为空\"");
+                } else {
+                    writer.annotation("javax.validation.constraints.NotNull", "message = \"" + description + "不能为空\"");
+                }
+            }
+            writeField(writer, field);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 响应DTO字段，包含全部字段
+     */
+    public static String responseFields(List<EntityField> fields, JavaSourceWriter writer) {
+        for (EntityField field : fields) {
+            if (!writer.isEmpty()) {
+                writer.blankLine();
+            }
+            writeField(writer, field);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 写入DTO字段及其JsonFormat、JsonProperty、ApiModelProperty注解
+     */
+    private static void writeField(JavaSourceWriter writer, EntityField field) {
+        if (field.getTemporalKind() != TemporalKind.NONE) {
+            writer.annotation("com.fasterxml.jackson.annotation.JsonFormat", "pattern = \"" + field.getTemporalKind().getPattern() + "\"");
+        }
+        writer.annotation("com.fasterxml.jackson.annotation.JsonProperty", "\"" + PsiStringUtils.toUnderLineStr(field.getName()) + "\"");
+        writer.annotation("io.swagger.annotations.ApiModelProperty", "notes = \"" + field.getDescription() + "\"");
+        writer.field("private", field.getQualifiedTypeName(), field.getName());
+    }
+}
@@ -0,0 +1,153 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+
+import java.util.*;
+
+/**
+ * DTO字段补丁
+ * 对比新生成的DTO与已有DTO的字段，只新增、删除或更新有变化的字段及其生成注解，手写的方法、字段注解和注释保持不变；
+ * 只删除上次由生成器写入(记录在生成记录中)、实体中已不存在的字段，手写字段即使带有ApiModelProperty也保留；
+ * 格式化时只处理变化的字段，不格式化整个文件
+ **/
+class DtoFieldPatcher {
+
+    // 生成器维护的字段注解(简单名)，其余注解视为手写保留
+    private static final Set<String> MANAGED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "JsonFormat", "JsonProperty", "ApiModelProperty", "Length", "NotBlank", "NotNull"
+    ));
+
+    private final PsiJavaFile generatedFile;
+    private final PsiJavaFile existingFile;
+    // 上次由生成器写入的字段名
+    private final Set<String> previousFields;
+    private final List<PsiElement> changedElements = new ArrayList<>();
+
+    private DtoFieldPatcher(PsiJavaFile generatedFile, PsiJavaFile existingFile, Set<String> previousFields) {
+        this.generatedFile = generatedFile;
+        this.existingFile = existingFile;
+        this.previousFields = previousFields;
+    }
+
+    /**
+     * 需在写命令中调用，返回是否有改动
+     */
+    static boolean patch(PsiJavaFile generatedFile, PsiJavaFile existingFile, Set<String> previousFields, boolean reformat) {
+        return new DtoFieldPatcher(generatedFile, existingFile, previousFields).patch(reformat);
+    }
+
+    private boolean patch(boolean reformat) {
+        PsiClass[] existingClasses = existingFile.getClasses();
+        if (existingClasses.length == 0) {
+            return false;
+        }
+        PsiClass existingClass = existingClasses[0];
+        PsiClass generatedClass = generatedFile.getClasses()[0];
+        Set<String> generatedNames = new HashSet<>();
+        PsiElement anchor = existingClass.getLBrace();
+        for (PsiField generatedField : generatedClass.getFields()) {
+            generatedNames.add(generatedField.getName());
+            PsiField existingField = existingClass.findFieldByName(generatedField.getName(), false);
+            if (null == existingField) {
+                // 新增字段，按实体字段顺序插入到前一个字段之后
+                anchor = existingClass.addAfter(generatedField, anchor);
+                changedElements.add(anchor);
+            } else {
+                updateField(existingField, generatedField);
+                anchor = existingField;
+            }
+        }
+        for (PsiField existingField : existingClass.getFields()) {
+            // 只删除上次由生成器写入、实体中已不存在的字段
+            if (!generatedNames.contains(existingField.getName()) && previousFields.contains(existingField.getName())) {
+                existingField.delete();
+                changedElements.add(existingClass);
+            }
+        }
+        if (changedElements.isEmpty()) {
+            return false;
+        }
+        addMissingImports();
+        if (reformat) {
+            CodeStyleManager codeStyleManager = CodeStyleManager.getInstance(existingFile.getProject());
+            changedElements.stream().filter(element -> element.isValid() && !(element instanceof PsiClass)).forEach(codeStyleManager::reformat);
+        }
+        return true;
+    }
+
+    /**
+     * 更新字段类型及生成注解，手写注解保留
+     */
+    private void updateField(PsiField existingField, PsiField generatedField) {
+        boolean changed = false;
+        PsiTypeElement existingType = existingField.getTypeElement();
+        PsiTypeElement generatedType = generatedField.getTypeElement();
+        if (null != existingType && null != generatedType && !normalize(existingType.getText()).equals(normalize(generatedType.getText()))) {
+            existingType.replace(generatedType);
+            changed = true;
+        }
+        PsiModifierList existingModifiers = existingField.getModifierList();
+        PsiModifierList generatedModifiers = generatedField.getModifierList();
+        if (null == existingModifiers || null == generatedModifiers) {
+            return;
+        }
+        Set<String> generatedAnnotations = new HashSet<>();
+        for (PsiAnnotation annotation : generatedModifiers.getAnnotations()) {
+            generatedAnnotations.add(normalize(annotation.getText()));
+        }
+        Set<String> existingAnnotations = new HashSet<>();
+        for (PsiAnnotation annotation : existingModifiers.getAnnotations()) {
+            String text = normalize(annotation.getText());
+            if (isManaged(annotation) && !generatedAnnotations.contains(text)) {
+                annotation.delete();
+                changed = true;
+            } else {
+                existingAnnotations.add(text);
+            }
+        }
+        PsiElement anchor = null;
+        for (PsiAnnotation annotation : generatedModifiers.getAnnotations()) {
+            if (existingAnnotations.contains(normalize(annotation.getText()))) {
+                continue;
+            }
+            anchor = null == anchor ? existingModifiers.addBefore(annotation, existingModifiers.getFirstChild()) : existingModifiers.addAfter(annotation, anchor);
+            changed = true;
+        }
+        if (changed) {
+            changedElements.add(existingField);
+        }
+    }
+
+    /**
+     * 补充变化字段用到的导入，只从新生成文件的导入中选取
+     */
+    private void addMissingImports() {
+        PsiImportList existingImports = existingFile.getImportList();
+        PsiImportList generatedImports = generatedFile.getImportList();
+        if (null == existingImports || null == generatedImports) {
+            return;
+        }
+        StringBuilder changedText = new StringBuilder();
+        changedElements.stream().filter(element -> !(element instanceof PsiClass)).forEach(element -> changedText.append(element.getText()));
+        for (PsiImportStatement importStatement : generatedImports.getImportStatements()) {
+            String qualifiedName = importStatement.getQualifiedName();
+            if (null == qualifiedName || null != existingImports.findSingleClassImportStatement(qualifiedName)) {
+                continue;
+            }
+            String simpleName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+            if (changedText.indexOf(simpleName) != -1) {
+                existingImports.add(importStatement);
+            }
+        }
+    }
+
+    private static boolean isManaged(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        return null != reference && MANAGED_ANNOTATIONS.contains(reference.getReferenceName());
+    }
+
+    private static String normalize(String text) {
+        return text.replaceAll("\\s+", "");
+    }
+}
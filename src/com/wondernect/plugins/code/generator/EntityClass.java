@@ -1,8 +1,10 @@
 package com.wondernect.plugins.code.generator;
 
-import com.intellij.psi.PsiClass;
+import com.wondernect.plugins.code.generator.model.EntityModel;
 import com.wondernect.plugins.code.generator.util.PsiStringUtils;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -14,8 +16,10 @@ public class EntityClass {
     private String author;
     private String apiVersion;
     private String apiService;
+    // 生成时间，同一次生成的所有文件一致
+    private String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
-    private PsiClass entityClass;
+    private EntityModel entityModel;
     private String entityName;
     private String entityVariableName;
     private String entityDescription;
@@ -41,12 +45,22 @@ public class EntityClass {
     private Map<String, String> responseFields = new HashMap<>();
     private Map<String, String> responseFieldsDescription = new HashMap<>();
 
+    private String listProjectionName;
+
     private String listRequestDTOName;
     private String listRequestDTOVariableName;
 
     private String pageRequestDTOName;
     private String pageRequestDTOVariableName;
 
+    private String scrollRequestDTOName;
+    private String scrollRequestDTOVariableName;
+
+    private String batchUpdateRequestDTOName;
+    private String batchUpdateRequestDTOVariableName;
+
+    private String batchResultDTOName;
+
     private String serviceInterfaceName;
     private String serviceInterfaceVariableName;
 
@@ -73,6 +87,10 @@ public class EntityClass {
         this.author = author;
     }
 
+    public String getDate() {
+        return date;
+    }
+
     public String getApiVersion() {
         return apiVersion;
     }
@@ -89,15 +107,14 @@ public class EntityClass {
         this.apiService = apiService;
     }
 
-    EntityClass setEntityClass(PsiClass entityClass) {
-        this.entityClass = entityClass;
-        this.entityName = entityClass.getName();
-        this.entityVariableName = PsiStringUtils.firstLetterToLower(this.entityName);
-        return this;
+    public EntityModel getEntityModel() {
+        return entityModel;
     }
 
-    PsiClass getEntityClass() {
-        return this.entityClass;
+    public void setEntityModel(EntityModel entityModel) {
+        this.entityModel = entityModel;
+        this.entityName = entityModel.getName();
+        this.entityVariableName = PsiStringUtils.firstLetterToLower(this.entityName);
     }
 
     String getEntityName() {
@@ -218,6 +235,14 @@ public class EntityClass {
         this.responseFieldsDescription = responseFieldsDescription;
     }
 
+    public String getListProjectionName() {
+        return listProjectionName;
+    }
+
+    public void setListProjectionName(String listProjectionName) {
+        this.listProjectionName = listProjectionName;
+    }
+
     public String getListRequestDTOName() {
         return listRequestDTOName;
     }
@@ -244,6 +269,40 @@ public class EntityClass {
         return pageRequestDTOVariableName;
     }
 
+    public String getScrollRequestDTOName() {
+        return scrollRequestDTOName;
+    }
+
+    public void setScrollRequestDTOName(String scrollRequestDTOName) {
+        this.scrollRequestDTOName = scrollRequestDTOName;
+        this.scrollRequestDTOVariableName = PsiStringUtils.firstLetterToLower(scrollRequestDTOName);
+    }
+
+    public String getScrollRequestDTOVariableName() {
+        return scrollRequestDTOVariableName;
+    }
+
+    public String getBatchUpdateRequestDTOName() {
+        return batchUpdateRequestDTOName;
+    }
+
+    public void setBatchUpdateRequestDTOName(String batchUpdateRequestDTOName) {
+        this.batchUpdateRequestDTOName = batchUpdateRequestDTOName;
+        this.batchUpdateRequestDTOVariableName = PsiStringUtils.firstLetterToLower(batchUpdateRequestDTOName);
+    }
+
+    public String getBatchUpdateRequestDTOVariableName() {
+        return batchUpdateRequestDTOVariableName;
+    }
+
+    public String getBatchResultDTOName() {
+        return batchResultDTOName;
+    }
+
+    public void setBatchResultDTOName(String batchResultDTOName) {
+        this.batchResultDTOName = batchResultDTOName;
+    }
+
     public String getServiceInterfaceName() {
         return serviceInterfaceName;
     }
@@ -295,4 +354,49 @@ public class EntityClass {
     public String getControllerVariableName() {
         return controllerVariableName;
     }
+
+    /**
+     * 模板渲染上下文，未设置的名称不会出现在上下文中
+     */
+    public Map<String, Object> toTemplateContext() {
+        Map<String, Object> context = new HashMap<>();
+        context.put("author", author);
+        context.put("date", date);
+        context.put("entityName", entityName);
+        context.put("entityVariableName", entityVariableName);
+        context.put("entityDescription", entityDescription);
+        context.put("apiPrefix", "/" + apiVersion + "/" + apiService + "/" + PsiStringUtils.toUnderLineStr(entityName));
+        if (null != entityIdName) {
+            String entityIdPathName = PsiStringUtils.toUnderLineStr(entityIdName);
+            context.put("entityIdType", entityIdType);
+            context.put("entityIdName", entityIdName);
+            context.put("entityIdProperty", PsiStringUtils.firstLetterToUpper(entityIdName));
+            context.put("entityIdPathName", entityIdPathName);
+            context.put("entityIdPath", "{" + entityIdPathName + "}");
+        }
+        context.put("repositoryName", repositoryName);
+        context.put("repositoryVariableName", repositoryVariableName);
+        context.put("listProjectionName", listProjectionName);
+        context.put("daoName", daoName);
+        context.put("managerName", managerName);
+        context.put("requestDTOName", requestDTOName);
+        context.put("requestDTOVariableName", requestDTOVariableName);
+        context.put("responseDTOName", responseDTOName);
+        context.put("responseDTOVariableName", responseDTOVariableName);
+        context.put("listRequestDTOName", listRequestDTOName);
+        context.put("listRequestDTOVariableName", listRequestDTOVariableName);
+        context.put("pageRequestDTOName", pageRequestDTOName);
+        context.put("pageRequestDTOVariableName", pageRequestDTOVariableName);
+        context.put("scrollRequestDTOName", scrollRequestDTOName);
+        context.put("scrollRequestDTOVariableName", scrollRequestDTOVariableName);
+        context.put("batchUpdateRequestDTOName", batchUpdateRequestDTOName);
+        context.put("batchUpdateRequestDTOVariableName", batchUpdateRequestDTOVariableName);
+        context.put("batchResultDTOName", batchResultDTOName);
+        context.put("serviceInterfaceName", serviceInterfaceName);
+        context.put("serviceAbstractName", serviceAbstractName);
+        context.put("serviceName", serviceName);
+        context.put("serviceVariableName", serviceVariableName);
+        context.put("controllerName", controllerName);
+        return context;
+    }
 }
@@ -3,8 +3,10 @@ package com.wondernect.plugins.code.generator;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.wondernect.plugins.code.generator.dialog.FormDialog;
 
@@ -20,10 +22,15 @@ public class ExcelItemHandlerCodeGeneratorAction extends AnAction {
     public void actionPerformed(AnActionEvent e) {
         Project project = e.getData(PlatformDataKeys.PROJECT);
         assert project != null;
-        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
-        assert psiFile != null;
+        // 支持选中单个文件，也支持选中目录或包批量生成
+        PsiElement[] psiElements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+        if (psiElements == null || psiElements.length == 0) {
+            PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+            assert psiFile != null;
+            psiElements = new PsiElement[]{psiFile};
+        }
 
-        FormDialog formTestDialog = new FormDialog(4, project, psiFile);
+        FormDialog formTestDialog = new FormDialog(project, psiElements);
         //是否允许用户通过拖拽的方式扩大或缩小你的表单框，我这里定义为true，表示允许
         formTestDialog.setResizable(true);
         formTestDialog.show();
@@ -0,0 +1,71 @@
+package com.wondernect.plugins.code.generator;
+
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.template.TemplateEngine;
+import com.wondernect.plugins.code.generator.util.PsiStringUtils;
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * excel item handler渲染器，不依赖IDE，每个字段生成一个handler
+ **/
+public class ExcelItemHandlerRenderer {
+
+    private TemplateEngine templateEngine;
+    // 实体所在的子目录，为空时生成在excel根目录
+    private String currentDirectory;
+
+    public ExcelItemHandlerRenderer(TemplateEngine templateEngine, String currentDirectory) {
+        this.templateEngine = templateEngine;
+        this.currentDirectory = currentDirectory;
+    }
+
+    /**
+     * 渲染实体各字段的handler，entityClass需已设置实体模型
+     */
+    public List<GeneratedSource> render(EntityClass entityClass) {
+        // 获取实体相关信息
+        if (null == entityClass.getEntityModel().getDescription()) {
+            throw new CodeGenerationException("实体类缺少ApiModel描述");
+        }
+        entityClass.setEntityDescription(entityClass.getEntityModel().getDescription());
+        // 构造excel item
+        getFieldsItem(entityClass);
+        List<GeneratedSource> sources = new ArrayList<>();
+        // 创建excel item handler
+        createExcelExportItemHandler(entityClass, sources);
+        return sources;
+    }
+
+    /**
+     * 创建excel export item handler
+     */
+    private void createExcelExportItemHandler(EntityClass entityClass, List<GeneratedSource> sources) {
+        String dir = currentDirectory == null ? "excel" : "excel/" + currentDirectory;
+        if (entityClass.getResponseFields() != null && entityClass.getResponseFields().size() > 0) {
+            for (String itemName : entityClass.getResponseFields().keySet()) {
+                String excelItemHandlerName = entityClass.getEntityName() + PsiStringUtils.firstLetterToUpper(itemName) + "Handler";
+                JavaSourceWriter writer = new JavaSourceWriter().importTypes(
+                        "com.wondernect.elements.easyoffice.excel.ESExcelItemHandler"
+                );
+                Map<String, Object> context = entityClass.toTemplateContext();
+                context.put("handlerName", excelItemHandlerName);
+                context.put("itemName", itemName);
+                context.put("itemType", writer.importType(entityClass.getResponseFields().get(itemName)));
+                context.put("itemDescription", entityClass.getResponseFieldsDescription().get(itemName));
+                writer.append(templateEngine.render("excel_item_handler", context));
+                sources.add(new GeneratedSource(dir, excelItemHandlerName, writer, false));
+            }
+        }
+    }
+
+    private void getFieldsItem(EntityClass entityClass) {
+        for (EntityField field : entityClass.getEntityModel().getFields()) {
+            entityClass.getResponseFields().put(field.getName(), field.getQualifiedTypeName());
+            entityClass.getResponseFieldsDescription().put(field.getName(), field.getDescription());
+        }
+    }
+}
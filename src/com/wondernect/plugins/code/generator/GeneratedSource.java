@@ -0,0 +1,39 @@
+package com.wondernect.plugins.code.generator;
+
+import com.wondernect.plugins.code.generator.writer.JavaSourceWriter;
+
+/**
+ * 渲染好的一个源文件
+ **/
+public final class GeneratedSource {
+
+    // 相对工作目录的目录，如dto或dto/student
+    private final String dir;
+    private final String className;
+    private final JavaSourceWriter writer;
+    // 已存在时是否按字段补丁(DTO)
+    private final boolean patchable;
+
+    GeneratedSource(String dir, String className, JavaSourceWriter writer, boolean patchable) {
+        this.dir = dir;
+        this.className = className;
+        this.writer = writer;
+        this.patchable = patchable;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public JavaSourceWriter getWriter() {
+        return writer;
+    }
+
+    public boolean isPatchable() {
+        return patchable;
+    }
+}
@@ -0,0 +1,111 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.wondernect.plugins.code.generator.settings.GenerationRecords;
+
+import java.util.*;
+
+/**
+ * 生成日志
+ * 记录一批生成中新建的文件与目录、被替换或补丁的文件原内容以及被覆盖的文件记录，
+ * 取消或失败时据此在一个写命令中倒序回滚整批改动
+ **/
+class GenerationJournal {
+
+    private GenerationRecords records;
+    private List<Entry> entries = new ArrayList<>();
+    private Set<VirtualFile> journaledFiles = new HashSet<>();
+    // 文件记录的原值，null表示原来没有记录
+    private Map<String, GenerationRecords.ArtifactRecord> artifacts = new LinkedHashMap<>();
+
+    GenerationJournal(GenerationRecords records) {
+        this.records = records;
+    }
+
+    /**
+     * 新建的文件或目录，回滚时删除
+     */
+    void created(PsiFileSystemItem item) {
+        VirtualFile virtualFile = item.getVirtualFile();
+        if (null != virtualFile && journaledFiles.add(virtualFile)) {
+            entries.add(new Entry(virtualFile, null));
+        }
+    }
+
+    /**
+     * 修改前的已有文件，回滚时恢复原内容；同一文件只记录第一次修改前的内容
+     */
+    void modified(PsiFile file) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (null != virtualFile && journaledFiles.add(virtualFile)) {
+            entries.add(new Entry(virtualFile, file.getViewProvider().getContents().toString()));
+        }
+    }
+
+    /**
+     * 修改前的文件记录
+     */
+    void artifact(String artifactKey) {
+        if (!artifacts.containsKey(artifactKey)) {
+            artifacts.put(artifactKey, records.getArtifact(artifactKey));
+        }
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty() && artifacts.isEmpty();
+    }
+
+    /**
+     * 新建或修改过的文件数(不含目录)
+     */
+    int getFileCount() {
+        return (int) entries.stream().filter(entry -> !entry.file.isDirectory()).count();
+    }
+
+    /**
+     * 需在写命令中调用，倒序撤销所有改动并恢复文件记录
+     */
+    void rollback(Project project) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            if (!entry.file.isValid()) {
+                continue;
+            }
+            if (null == entry.text) {
+                PsiFileSystemItem item = entry.file.isDirectory() ? psiManager.findDirectory(entry.file) : psiManager.findFile(entry.file);
+                // 新建的目录只有在其中的文件都已删除后才删除
+                if (null != item && (!entry.file.isDirectory() || entry.file.getChildren().length == 0)) {
+                    item.delete();
+                }
+            } else {
+                Document document = FileDocumentManager.getInstance().getDocument(entry.file);
+                if (null != document) {
+                    psiDocumentManager.doPostponedOperationsAndUnblockDocument(document);
+                    document.setText(entry.text);
+                    psiDocumentManager.commitDocument(document);
+                }
+            }
+        }
+        artifacts.forEach(records::restoreArtifact);
+        entries.clear();
+        journaledFiles.clear();
+        artifacts.clear();
+    }
+
+    private static class Entry {
+        private VirtualFile file;
+        // 修改前的内容，新建的文件或目录为null
+        private String text;
+
+        private Entry(VirtualFile file, String text) {
+            this.file = file;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.wondernect.plugins.code.generator.settings.GenerationRecords;
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+
+import java.util.*;
+
+/**
+ * 代码生成计划
+ * 先在后台读操作中构建所有待生成文件，再回到EDT与同批次其他实体的计划在一个写命令中统一写入，只产生一个撤销步骤；
+ * 每个文件带有生成内容的指纹(不含生成时间)，写入时只处理新文件及内容变化且未被手工修改过的文件；
+ * DTO等可补丁的文件内容变化时只补丁变化的字段，保留手写内容，生成器写入的字段名记录在文件记录中，补丁时据此判断哪些字段可以删除；
+ * 写入的每个文件、目录及文件记录都登记到生成日志，取消或失败时整批回滚；
+ * 文件所在目录由目录布局解析，只在有文件写入时才创建；
+ * 预览时在内存中计算每个文件写入后的内容，不修改项目，之后只写入预览中勾选的文件
+ **/
+public class GenerationPlan {
+    private String commandName;
+    private String date;
+    private WorkspaceLayout layout;
+    private List<PendingFile> pendingFiles = new ArrayList<>();
+    // 预览中勾选的文件，为null时写入全部文件
+    private Set<PendingFile> selectedFiles;
+    private int created;
+    private int updated;
+
+    /**
+     * @param date 生成时间，计算文件指纹时去掉，避免每次生成都被当作变化
+     */
+    GenerationPlan(String commandName, String date, WorkspaceLayout layout) {
+        this.commandName = commandName;
+        this.date = date;
+        this.layout = layout;
+    }
+
+    void add(String dir, ClassCreator classCreator) {
+        pendingFiles.add(new PendingFile(dir, classCreator, Fingerprints.of(classCreator.getContent().replace(date, "")), false));
+    }
+
+    /**
+     * 添加可补丁的文件，已存在时按字段差异补丁而不是整体替换
+     */
+    void addPatchable(String dir, ClassCreator classCreator) {
+        pendingFiles.add(new PendingFile(dir, classCreator, Fingerprints.of(classCreator.getContent().replace(date, "")), true));
+    }
+
+    String getCommandName() {
+        return commandName;
+    }
+
+    int getCreated() {
+        return created;
+    }
+
+    int getUpdated() {
+        return updated;
+    }
+
+    /**
+     * 需在读操作中调用，计算每个文件写入后的内容，与write的判断一致；新文件及整体替换的文件为未格式化的生成内容，
+     * 可补丁的文件在已有文件的内存副本上补丁
+     */
+    List<PreviewFile> preview(String entityName, GenerationRecords records) {
+        List<PreviewFile> previewFiles = new ArrayList<>();
+        for (PendingFile pendingFile : pendingFiles) {
+            PsiDirectory directory = layout.find(pendingFile.dir);
+            String fileName = pendingFile.classCreator.getFileName();
+            PsiFile existingFile = null == directory ? null : directory.findFile(fileName);
+            PreviewFile previewFile = new PreviewFile(this, pendingFile, entityName, layout.getPath(pendingFile.dir) + "/" + fileName);
+            if (null == existingFile) {
+                previewFile.status = PreviewStatus.CREATE;
+                previewFile.newText = pendingFile.classCreator.getResolvedText();
+            } else {
+                String artifactKey = records.artifactKey(directory.getVirtualFile().getPath() + "/" + fileName);
+                previewFile.oldText = existingFile.getViewProvider().getContents().toString();
+                if (records.isUpToDate(artifactKey, pendingFile.fingerprint)) {
+                    previewFile.status = PreviewStatus.UNCHANGED;
+                    previewFile.newText = previewFile.oldText;
+                } else if (pendingFile.patchable && existingFile instanceof PsiJavaFile) {
+                    PsiJavaFile copy = (PsiJavaFile) existingFile.copy();
+                    previewFile.status = pendingFile.classCreator.patch(copy, records.getArtifactFields(artifactKey), false) ? PreviewStatus.PATCH : PreviewStatus.UNCHANGED;
+                    previewFile.newText = copy.getText();
+                } else {
+                    previewFile.status = records.isUnmodified(artifactKey, existingFile.getViewProvider().getContents()) ? PreviewStatus.REPLACE : PreviewStatus.MODIFIED;
+                    previewFile.newText = pendingFile.classCreator.getResolvedText();
+                }
+            }
+            previewFile.selected = previewFile.status.selected;
+            previewFiles.add(previewFile);
+        }
+        return previewFiles;
+    }
+
+    /**
+     * 只写入勾选的属于本计划的文件，返回是否有勾选的文件
+     */
+    boolean select(Collection<PreviewFile> previewFiles) {
+        selectedFiles = new HashSet<>();
+        previewFiles.stream().filter(previewFile -> previewFile.plan == this && previewFile.selected).forEach(previewFile -> selectedFiles.add(previewFile.pendingFile));
+        return !selectedFiles.isEmpty();
+    }
+
+    /**
+     * 需在写命令中调用，写入文件(目录不存在时创建)，新建或整体替换的文件加入writtenFiles(由调用方统一格式化)，返回写入的文件数
+     * 已存在的文件只在生成内容变化时处理：可补丁的文件补丁变化的字段(只格式化变化部分)，其余文件在自上次生成后未被修改时整体替换；
+     * 预览后只写入勾选的文件，勾选的手工修改过的文件同样整体替换；每个文件写入前检查是否已取消
+     */
+    int write(List<PsiFile> writtenFiles, GenerationRecords records, GenerationJournal journal, boolean reformat, ProgressIndicator indicator) {
+        created = 0;
+        updated = 0;
+        for (PendingFile pendingFile : pendingFiles) {
+            indicator.checkCanceled();
+            if (null != selectedFiles && !selectedFiles.contains(pendingFile)) {
+                continue;
+            }
+            PsiDirectory directory = layout.findOrCreate(pendingFile.dir, journal);
+            String fileName = pendingFile.classCreator.getFileName();
+            String artifactKey = records.artifactKey(directory.getVirtualFile().getPath() + "/" + fileName);
+            PsiFile existingFile = directory.findFile(fileName);
+            if (null == existingFile) {
+                pendingFile.classCreator.addTo(directory).and(psiClass -> {
+                    journal.created(psiClass.getContainingFile());
+                    writtenFiles.add(psiClass.getContainingFile());
+                });
+                created++;
+            } else if (records.isUpToDate(artifactKey, pendingFile.fingerprint)) {
+                // 生成内容未变化
+                continue;
+            } else if (pendingFile.patchable && existingFile instanceof PsiJavaFile) {
+                journal.modified(existingFile);
+                journal.artifact(artifactKey);
+                if (pendingFile.classCreator.patch((PsiJavaFile) existingFile, records.getArtifactFields(artifactKey), reformat)) {
+                    updated++;
+                }
+                // 补丁已完成格式化，直接记录最终内容
+                records.putArtifact(artifactKey, pendingFile.fingerprint);
+                records.putArtifactContent(artifactKey, existingFile.getText());
+                records.putArtifactFields(artifactKey, pendingFile.classCreator.getFieldNames());
+                continue;
+            } else if (null == selectedFiles && !records.isUnmodified(artifactKey, existingFile.getViewProvider().getContents())) {
+                // 文件非本插件生成或生成后被手工修改过
+                continue;
+            } else {
+                journal.modified(existingFile);
+                writtenFiles.add(pendingFile.classCreator.replace(existingFile));
+                updated++;
+            }
+            journal.artifact(artifactKey);
+            records.putArtifact(artifactKey, pendingFile.fingerprint);
+            if (pendingFile.patchable) {
+                records.putArtifactFields(artifactKey, pendingFile.classCreator.getFieldNames());
+            }
+        }
+        return created + updated;
+    }
+
+    private static class PendingFile {
+        private String dir;
+        private ClassCreator classCreator;
+        private String fingerprint;
+        private boolean patchable;
+
+        private PendingFile(String dir, ClassCreator classCreator, String fingerprint, boolean patchable) {
+            this.dir = dir;
+            this.classCreator = classCreator;
+            this.fingerprint = fingerprint;
+            this.patchable = patchable;
+        }
+    }
+
+    public enum PreviewStatus {
+        CREATE("新建", true),
+        REPLACE("替换", true),
+        PATCH("补丁", true),
+        MODIFIED("已手工修改", false),
+        UNCHANGED("未变化", false);
+
+        private String description;
+        // 默认是否勾选，与不预览时的写入行为一致
+        private boolean selected;
+
+        PreviewStatus(String description, boolean selected) {
+            this.description = description;
+            this.selected = selected;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * 预览的文件：写入前后的内容及是否勾选写入
+     */
+    public static class PreviewFile {
+        private GenerationPlan plan;
+        private PendingFile pendingFile;
+        private String entityName;
+        // 相对实体上级目录的路径
+        private String path;
+        private PreviewStatus status;
+        // 已有文件的内容，新文件为null
+        private String oldText;
+        private String newText;
+        private boolean selected;
+
+        private PreviewFile(GenerationPlan plan, PendingFile pendingFile, String entityName, String path) {
+            this.plan = plan;
+            this.pendingFile = pendingFile;
+            this.entityName = entityName;
+            this.path = path;
+        }
+
+        public String getEntityName() {
+            return entityName;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getFileName() {
+            return pendingFile.classCreator.getFileName();
+        }
+
+        public PreviewStatus getStatus() {
+            return status;
+        }
+
+        public String getOldText() {
+            return oldText;
+        }
+
+        public String getNewText() {
+            return newText;
+        }
+
+        public boolean isSelected() {
+            return selected;
+        }
+
+        public void setSelected(boolean selected) {
+            this.selected = selected;
+        }
+    }
+}
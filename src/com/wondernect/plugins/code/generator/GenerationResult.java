@@ -0,0 +1,63 @@
+package com.wondernect.plugins.code.generator;
+
+/**
+ * 单个实体的代码生成结果
+ **/
+public class GenerationResult {
+
+    public enum Status {
+        SUCCESS("成功"),
+        SKIPPED("跳过"),
+        UNCHANGED("未变化"),
+        ERROR("失败");
+
+        private String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+    }
+
+    private String entityName;
+    private Status status;
+    private String message;
+
+    private GenerationResult(String entityName, Status status, String message) {
+        this.entityName = entityName;
+        this.status = status;
+        this.message = message;
+    }
+
+    static GenerationResult success(String entityName, int createdFiles, int updatedFiles) {
+        return new GenerationResult(entityName, Status.SUCCESS, updatedFiles == 0 ? "新建" + createdFiles + "个文件" : "新建" + createdFiles + "个文件，更新" + updatedFiles + "个文件");
+    }
+
+    static GenerationResult unchanged(String entityName) {
+        return new GenerationResult(entityName, Status.UNCHANGED, "实体及生成配置未变化");
+    }
+
+    static GenerationResult skipped(String entityName, String message) {
+        return new GenerationResult(entityName, Status.SKIPPED, message);
+    }
+
+    static GenerationResult error(String entityName, Throwable error) {
+        return new GenerationResult(entityName, Status.ERROR, error instanceof CodeGenerationException ? error.getMessage() : String.valueOf(error));
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return entityName + ": " + status.description + "(" + message + ")";
+    }
+}
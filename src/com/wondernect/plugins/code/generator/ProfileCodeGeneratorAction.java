@@ -0,0 +1,41 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.wondernect.plugins.code.generator.dialog.FormDialog;
+
+/**
+ * 按基础模型生成CRUD代码的菜单，会话框中默认选中profileId对应的基础模型，也可改选项目中自定义的基础模型
+ **/
+public class ProfileCodeGeneratorAction extends AnAction {
+
+    private String profileId;
+
+    public ProfileCodeGeneratorAction(String profileId) {
+        this.profileId = profileId;
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(PlatformDataKeys.PROJECT);
+        assert project != null;
+        // 支持选中单个文件，也支持选中目录或包批量生成
+        PsiElement[] psiElements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+        if (psiElements == null || psiElements.length == 0) {
+            PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+            assert psiFile != null;
+            psiElements = new PsiElement[]{psiFile};
+        }
+
+        FormDialog formTestDialog = new FormDialog(project, psiElements, profileId);
+        //是否允许用户通过拖拽的方式扩大或缩小你的表单框，我这里定义为true，表示允许
+        formTestDialog.setResizable(true);
+        formTestDialog.show();
+    }
+}
@@ -0,0 +1,100 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfiles;
+import com.wondernect.plugins.code.generator.settings.GenerationRecords;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 重新生成过期代码的菜单
+ * 对选中的模块、目录或文件中生成过代码的实体，按上次的生成参数重新生成；
+ * 实体指纹未变化的实体直接跳过，变化的实体只更新生成内容变化且未被手工修改过的文件
+ **/
+public class RegenerateStaleCodeAction extends AnAction {
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(PlatformDataKeys.PROJECT);
+        assert project != null;
+        PsiElement[] psiElements = getTargets(project, e);
+        GenerationRecords records = GenerationRecords.getInstance(project);
+        BaseModelProfiles profiles = BaseModelProfiles.of(project.getBasePath());
+        // 各基础模型的实体注解及excel item handler使用的ApiModel注解
+        Set<String> annotations = new LinkedHashSet<>();
+        profiles.getAll().forEach(profile -> annotations.add(profile.getEntityAnnotation()));
+        annotations.add("io.swagger.annotations.ApiModel");
+        ProgressManager.getInstance().run(new CodeGenerationTask(
+                project,
+                psiElements,
+                annotations,
+                javaFile -> !getRecords(records, javaFile).isEmpty(),
+                "所选范围内没有生成过代码的实体",
+                psiFile -> {
+                    List<CodeGenerator> codeGenerators = new ArrayList<>();
+                    for (GenerationRecords.EntityRecord record : getRecords(records, (PsiJavaFile) psiFile)) {
+                        codeGenerators.add(createCodeGenerator(project, psiFile, profiles, record));
+                    }
+                    return codeGenerators;
+                },
+                true
+        ));
+    }
+
+    /**
+     * 选中模块时处理模块的所有源码目录，否则处理选中的文件、目录或包
+     */
+    private PsiElement[] getTargets(Project project, AnActionEvent e) {
+        Module module = e.getData(LangDataKeys.MODULE_CONTEXT);
+        if (null != module) {
+            PsiManager psiManager = PsiManager.getInstance(project);
+            List<PsiElement> directories = new ArrayList<>();
+            for (VirtualFile sourceRoot : ModuleRootManager.getInstance(module).getSourceRoots(false)) {
+                PsiDirectory directory = psiManager.findDirectory(sourceRoot);
+                if (null != directory) {
+                    directories.add(directory);
+                }
+            }
+            return directories.toArray(PsiElement.EMPTY_ARRAY);
+        }
+        PsiElement[] psiElements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+        if (psiElements == null || psiElements.length == 0) {
+            PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+            assert psiFile != null;
+            psiElements = new PsiElement[]{psiFile};
+        }
+        return psiElements;
+    }
+
+    private static List<GenerationRecords.EntityRecord> getRecords(GenerationRecords records, PsiJavaFile javaFile) {
+        PsiClass[] classes = javaFile.getClasses();
+        if (classes.length == 0 || null == classes[0].getQualifiedName()) {
+            return new ArrayList<>();
+        }
+        return records.getEntities(classes[0].getQualifiedName());
+    }
+
+    private static CodeGenerator createCodeGenerator(Project project, PsiFile psiFile, BaseModelProfiles profiles, GenerationRecords.EntityRecord record) {
+        if (GenerationRecords.EntityRecord.EXCEL.equals(record.generator)) {
+            return new WondernectExcelItemHandlerCodeGenerator(project, psiFile, record.author, record.version, record.service);
+        }
+        try {
+            return new CrudCodeGenerator(project, psiFile, profiles.get(record.profile), record.author, record.version, record.service);
+        } catch (IllegalArgumentException ex) {
+            throw new CodeGenerationException(ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.psi.PsiDirectory;
+import com.wondernect.plugins.code.generator.settings.GeneratorSettings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 工作目录(实体上级目录)的目录布局
+ * 按配置把生成源码的逻辑目录(层名或层名/实体子目录，如repository/student)映射到实际目录，
+ * 已解析的目录缓存下来，同一工作目录下的所有实体共用；目录不存在时写入阶段才创建
+ **/
+class WorkspaceLayout {
+
+    private final PsiDirectory workDir;
+    // 层 -> 相对工作目录的路径，只含与层名不同的层
+    private final Map<String, String> layers;
+    // 逻辑目录 -> 已解析的目录，只缓存已存在的目录
+    private final Map<String, PsiDirectory> directories = new ConcurrentHashMap<>();
+
+    /**
+     * 需在读操作中创建，预先解析各层的根目录
+     */
+    WorkspaceLayout(PsiDirectory workDir, Map<String, String> layers) {
+        this.workDir = workDir;
+        this.layers = layers;
+        GeneratorSettings.LAYERS.forEach(this::find);
+    }
+
+    /**
+     * 工作目录仍然有效且目录布局配置未变化时可以继续使用
+     */
+    boolean isValid(Map<String, String> layers) {
+        return workDir.isValid() && this.layers.equals(layers);
+    }
+
+    /**
+     * 需在读操作中调用，返回逻辑目录对应的已存在目录，不存在时返回null
+     */
+    PsiDirectory find(String dir) {
+        PsiDirectory directory = directories.get(dir);
+        if (null != directory && directory.isValid()) {
+            return directory;
+        }
+        directory = workDir;
+        for (String name : getPath(dir).split("/")) {
+            directory = directory.findSubdirectory(name);
+            if (null == directory) {
+                return null;
+            }
+        }
+        directories.put(dir, directory);
+        return directory;
+    }
+
+    /**
+     * 需在写命令中调用，返回逻辑目录对应的目录，不存在时逐级创建，新建的目录登记到生成日志
+     */
+    PsiDirectory findOrCreate(String dir, GenerationJournal journal) {
+        PsiDirectory directory = find(dir);
+        if (null != directory) {
+            return directory;
+        }
+        directory = workDir;
+        for (String name : getPath(dir).split("/")) {
+            PsiDirectory subdirectory = directory.findSubdirectory(name);
+            if (null == subdirectory) {
+                subdirectory = directory.createSubdirectory(name);
+                journal.created(subdirectory);
+            }
+            directory = subdirectory;
+        }
+        directories.put(dir, directory);
+        return directory;
+    }
+
+    /**
+     * 逻辑目录的第一级为层名，按配置替换为实际路径，返回相对工作目录的路径
+     */
+    String getPath(String dir) {
+        int idx = dir.indexOf('/');
+        String layer = idx < 0 ? dir : dir.substring(0, idx);
+        String path = layers.get(layer);
+        return null == path ? dir : path + dir.substring(layer.length());
+    }
+}
@@ -0,0 +1,36 @@
+package com.wondernect.plugins.code.generator;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.wondernect.plugins.code.generator.settings.GeneratorSettings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 目录布局索引，项目级，不持久化
+ * 每个工作目录(通常每个模块一个)只建立一次目录布局，所有实体及多次生成共用；工作目录失效或布局配置变化时重建
+ **/
+public class WorkspaceLayoutIndex {
+
+    private final Project project;
+    private final Map<VirtualFile, WorkspaceLayout> layouts = new ConcurrentHashMap<>();
+
+    public WorkspaceLayoutIndex(Project project) {
+        this.project = project;
+    }
+
+    public static WorkspaceLayoutIndex getInstance(Project project) {
+        return ServiceManager.getService(project, WorkspaceLayoutIndex.class);
+    }
+
+    /**
+     * 需在读操作中调用
+     */
+    WorkspaceLayout getLayout(PsiDirectory workDir) {
+        Map<String, String> layers = GeneratorSettings.getInstance(project).getLayers();
+        return layouts.compute(workDir.getVirtualFile(), (file, layout) -> null != layout && layout.isValid(layers) ? layout : new WorkspaceLayout(workDir, layers));
+    }
+}
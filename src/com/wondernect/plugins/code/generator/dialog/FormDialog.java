@@ -2,7 +2,7 @@ package com.wondernect.plugins.code.generator.dialog;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
-import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiElement;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
@@ -18,13 +18,23 @@ public class FormDialog extends DialogWrapper {
 
     private FormSwing formTestSwing;
 
-    public FormDialog(int baseModelType, @Nullable Project project, @Nullable PsiFile psiFile) {
+    /**
+     * 生成excel item handler
+     */
+    public FormDialog(@Nullable Project project, @Nullable PsiElement[] targets) {
+        this(project, targets, null);
+    }
+
+    /**
+     * @param profileId 生成CRUD代码时默认选中的基础模型，为null时生成excel item handler
+     */
+    public FormDialog(@Nullable Project project, @Nullable PsiElement[] targets, @Nullable String profileId) {
         super(true);
         assert project != null;
-        assert psiFile != null;
+        assert targets != null && targets.length != 0;
         // 获取到当前项目的名称设置会话框标题
         setTitle(project.getName());
-        formTestSwing = new FormSwing(baseModelType, project, psiFile);
+        formTestSwing = new FormSwing(project, targets, profileId, () -> close(OK_EXIT_CODE));
         //触发一下init方法，否则swing样式将无法展示在会话框
         init();
     }
@@ -1,12 +1,19 @@
 package com.wondernect.plugins.code.generator.dialog;
 
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.wondernect.plugins.code.generator.*;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfile;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfiles;
+import com.wondernect.plugins.code.generator.settings.GeneratorSettings;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Copyright (C), 2020, wondernect.com
@@ -16,28 +23,34 @@ import java.awt.*;
  * Description:
  */
 public class FormSwing {
-    // 0-BaseStringModel; 1-BaseLongModel; 2-BaseModel; 3-BaseRDBModel; 4-ExcelItemHandler;
-    private int baseModelType;
+    // 为null时生成excel item handler
+    private String profileId;
     private Project project;
-    private PsiFile psiFile;
+    private PsiElement[] targets;
+    private Runnable onSubmit;
 
     private JPanel north = new JPanel();
     private JPanel center = new JPanel();
     private JPanel south = new JPanel();
     //为了让位于底部的按钮可以拿到组件内容，这里把表单组件做成类属性
-    private JLabel r1 = new JLabel("执行状态：");
-    private JLabel r2 = new JLabel("");
     private JLabel author = new JLabel("作者：");
     private JTextField authorContent = new JTextField();
     private JLabel version = new JLabel("版本号：");
     private JTextField versionContent = new JTextField();
     private JLabel service = new JLabel("服务：");
     private JTextField serviceContent = new JTextField();
+    private JLabel reformat = new JLabel("格式化代码：");
+    private JCheckBox reformatContent = new JCheckBox();
+    private JLabel layers = new JLabel("目录布局：");
+    private JTextField layersContent = new JTextField();
+    private JLabel profile = new JLabel("基础模型：");
+    private JComboBox<BaseModelProfile> profileContent = new JComboBox<>();
 
-    public FormSwing(int baseModelType, Project project, PsiFile psiFile) {
-        this.baseModelType = baseModelType;
+    public FormSwing(Project project, PsiElement[] targets, String profileId, Runnable onSubmit) {
+        this.profileId = profileId;
         this.project = project;
-        this.psiFile = psiFile;
+        this.targets = targets;
+        this.onSubmit = onSubmit;
     }
 
     public JPanel initNorth() {
@@ -52,19 +65,40 @@ public class FormSwing {
 
     public JPanel initCenter() {
         //定义表单的主体部分，放置到IDEA会话框的中央位置
-        //一个简单的4行2列的表格布局
-        center.setLayout(new GridLayout(4, 2));
-        //row1：按钮事件触发后将结果打印在这里
-        r1.setForeground(new Color(255, 47, 93)); //设置字体颜色
-        center.add(r1);
-        r2.setForeground(new Color(139, 181, 20)); //设置字体颜色
-        center.add(r2);
+        //一个简单的表格布局，生成CRUD代码时多一行基础模型选择
+        center.setLayout(new GridLayout(null == profileId ? 5 : 6, 2));
+        if (null != profileId) {
+            // 内置基础模型加上项目.wondernect/profiles下自定义的基础模型
+            BaseModelProfiles baseModelProfiles;
+            try {
+                baseModelProfiles = BaseModelProfiles.of(project.getBasePath());
+            } catch (RuntimeException e) {
+                Messages.showMessageDialog(project, e.getMessage() + "，只使用内置基础模型", "ERROR", Messages.getErrorIcon());
+                baseModelProfiles = BaseModelProfiles.of(null);
+            }
+            for (BaseModelProfile baseModelProfile : baseModelProfiles.getAll()) {
+                profileContent.addItem(baseModelProfile);
+                if (baseModelProfile.getId().equals(profileId)) {
+                    profileContent.setSelectedItem(baseModelProfile);
+                }
+            }
+            center.add(profile);
+            center.add(profileContent);
+        }
         center.add(author);
         center.add(authorContent);
         center.add(version);
         center.add(versionContent);
         center.add(service);
         center.add(serviceContent);
+        reformatContent.setSelected(GeneratorSettings.getInstance(project).isReformat());
+        center.add(reformat);
+        center.add(reformatContent);
+        // 各层的生成目录，如dao=persistence/dao, dto=api/dto，为空时使用默认布局
+        layersContent.setText(GeneratorSettings.formatLayers(GeneratorSettings.getInstance(project).getLayers()));
+        layersContent.setToolTipText("层=相对实体上级目录的路径，以逗号分隔，如dao=persistence/dao, dto=api/dto");
+        center.add(layers);
+        center.add(layersContent);
         return center;
     }
 
@@ -74,57 +108,51 @@ public class FormSwing {
         submit.setHorizontalAlignment(SwingConstants.CENTER); //水平居中
         submit.setVerticalAlignment(SwingConstants.CENTER); //垂直居中
         south.add(submit);
+        // 预览只在内存中渲染，确认后再写入勾选的文件
+        JButton preview = new JButton("预览");
+        south.add(preview);
         //按钮事件绑定
-        submit.addActionListener(e -> {
-            String author = authorContent.getText();
-            String version = versionContent.getText();
-            String service = serviceContent.getText();
-            if (author == null || "".equals(author.trim()) ||
-                    version == null || "".equals(version.trim()) ||
-                    service == null || "".equals(service.trim())) {
-                Messages.showMessageDialog(project, "任一信息不能为空", "ERROR", Messages.getErrorIcon());
+        submit.addActionListener(e -> submit(false));
+        preview.addActionListener(e -> submit(true));
+        return south;
+    }
+
+    private void submit(boolean preview) {
+        String author = authorContent.getText();
+        String version = versionContent.getText();
+        String service = serviceContent.getText();
+        if (author == null || "".equals(author.trim()) ||
+                version == null || "".equals(version.trim()) ||
+                service == null || "".equals(service.trim())) {
+            Messages.showMessageDialog(project, "任一信息不能为空", "ERROR", Messages.getErrorIcon());
+        } else {
+            Map<String, String> layerPaths;
+            try {
+                layerPaths = GeneratorSettings.parseLayers(layersContent.getText());
+            } catch (IllegalArgumentException ex) {
+                Messages.showMessageDialog(project, ex.getMessage(), "ERROR", Messages.getErrorIcon());
+                return;
+            }
+            Function<PsiFile, CodeGenerator> codeGeneratorFactory;
+            String targetAnnotation;
+            if (null == profileId) {
+                targetAnnotation = "io.swagger.annotations.ApiModel";
+                codeGeneratorFactory = psiFile -> new WondernectExcelItemHandlerCodeGenerator(project, psiFile, author, version, service);
             } else {
-                // 0-BaseStringModel; 1-BaseLongModel; 2-BaseModel; 3-BaseRDBModel;
-                switch (baseModelType) {
-                    case 0:
-                    {
-                        WondernectBaseStringCodeGenerator wondernectBaseStringCodeGenerator = new WondernectBaseStringCodeGenerator(project, psiFile, author, version, service);
-                        wondernectBaseStringCodeGenerator.generateCode();
-                        break;
-                    }
-                    case 1:
-                    {
-                        WondernectBaseLongCodeGenerator wondernectBaseLongCodeGenerator = new WondernectBaseLongCodeGenerator(project, psiFile, author, version, service);
-                        wondernectBaseLongCodeGenerator.generateCode();
-                        break;
-                    }
-                    case 2:
-                    {
-                        WondernectBaseCodeGenerator wondernectBaseCodeGenerator = new WondernectBaseCodeGenerator(project, psiFile, author, version, service);
-                        wondernectBaseCodeGenerator.generateCode();
-                        break;
-                    }
-                    case 3:
-                    {
-                        WondernectBaseRDBCodeGenerator wondernectBaseRDBCodeGenerator = new WondernectBaseRDBCodeGenerator(project, psiFile, author, version, service);
-                        wondernectBaseRDBCodeGenerator.generateCode();
-                        break;
-                    }
-                    case 4:
-                    {
-                        WondernectExcelItemHandlerCodeGenerator wondernectExcelItemHandlerCodeGenerator = new WondernectExcelItemHandlerCodeGenerator(project, psiFile, author, version, service);
-                        wondernectExcelItemHandlerCodeGenerator.generateCode();
-                        break;
-                    }
-                    default:
-                    {
-                        Messages.showMessageDialog(project, "BaseModel类型选择有误", "ERROR", Messages.getErrorIcon());
-                        break;
-                    }
+                BaseModelProfile baseModelProfile = (BaseModelProfile) profileContent.getSelectedItem();
+                if (null == baseModelProfile) {
+                    Messages.showMessageDialog(project, "请选择基础模型", "ERROR", Messages.getErrorIcon());
+                    return;
                 }
-                r2.setText("执行完毕!!!");
+                targetAnnotation = baseModelProfile.getEntityAnnotation();
+                codeGeneratorFactory = psiFile -> new CrudCodeGenerator(project, psiFile, baseModelProfile, author, version, service);
             }
-        });
-        return south;
+            GeneratorSettings.getInstance(project).setReformat(reformatContent.isSelected());
+            GeneratorSettings.getInstance(project).setLayers(layerPaths);
+            // 关闭会话框后在后台执行，结果通过通知展示
+            onSubmit.run();
+            CodeGenerationTask task = new CodeGenerationTask(project, targets, targetAnnotation, codeGeneratorFactory);
+            ProgressManager.getInstance().run(preview ? task.preview() : task);
+        }
     }
 }
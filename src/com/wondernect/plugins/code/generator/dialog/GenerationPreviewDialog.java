@@ -0,0 +1,127 @@
+package com.wondernect.plugins.code.generator.dialog;
+
+import com.intellij.diff.DiffContentFactory;
+import com.intellij.diff.DiffManager;
+import com.intellij.diff.DiffRequestPanel;
+import com.intellij.diff.contents.DiffContent;
+import com.intellij.diff.requests.SimpleDiffRequest;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import com.wondernect.plugins.code.generator.GenerationPlan;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 生成预览会话框
+ * 左侧列出所有待生成文件及写入方式，右侧为选中文件与已有内容的差异；生成内容只存在于内存中的LightVirtualFile，不进入项目索引
+ **/
+public class GenerationPreviewDialog extends DialogWrapper {
+
+    private static final String[] COLUMNS = {"", "实体", "文件", "状态"};
+
+    private Project project;
+    private List<GenerationPlan.PreviewFile> files;
+    private DiffRequestPanel diffPanel;
+
+    public GenerationPreviewDialog(Project project, List<GenerationPlan.PreviewFile> files) {
+        super(project, true);
+        this.project = project;
+        this.files = files;
+        setTitle("生成预览(" + files.size() + "个文件)");
+        setOKButtonText("写入勾选的文件");
+        init();
+    }
+
+    @Override
+    protected JComponent createCenterPanel() {
+        JBTable table = new JBTable(new PreviewTableModel());
+        table.getColumnModel().getColumn(0).setMaxWidth(JBUI.scale(30));
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && table.getSelectedRow() >= 0) {
+                showDiff(files.get(table.getSelectedRow()));
+            }
+        });
+        diffPanel = DiffManager.getInstance().createRequestPanel(project, getDisposable(), null);
+        JBSplitter splitter = new JBSplitter(false, 0.35f);
+        splitter.setFirstComponent(new JBScrollPane(table));
+        splitter.setSecondComponent(diffPanel.getComponent());
+        splitter.setPreferredSize(JBUI.size(1100, 650));
+        if (!files.isEmpty()) {
+            table.setRowSelectionInterval(0, 0);
+        }
+        return splitter;
+    }
+
+    /**
+     * 勾选写入的文件
+     */
+    public List<GenerationPlan.PreviewFile> getSelectedFiles() {
+        return files.stream().filter(GenerationPlan.PreviewFile::isSelected).collect(Collectors.toList());
+    }
+
+    private void showDiff(GenerationPlan.PreviewFile file) {
+        DiffContentFactory diffContentFactory = DiffContentFactory.getInstance();
+        DiffContent oldContent = null == file.getOldText() ? diffContentFactory.createEmpty() : diffContentFactory.create(project, file.getOldText(), JavaFileType.INSTANCE);
+        DiffContent newContent = diffContentFactory.create(project, new LightVirtualFile(file.getFileName(), JavaFileType.INSTANCE, file.getNewText()));
+        diffPanel.setRequest(new SimpleDiffRequest(file.getPath(), oldContent, newContent, null == file.getOldText() ? "(新文件)" : "当前内容", "生成内容"));
+    }
+
+    private class PreviewTableModel extends AbstractTableModel {
+
+        @Override
+        public int getRowCount() {
+            return files.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            return columnIndex == 0 ? Boolean.class : String.class;
+        }
+
+        @Override
+        public boolean isCellEditable(int rowIndex, int columnIndex) {
+            return columnIndex == 0;
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            GenerationPlan.PreviewFile file = files.get(rowIndex);
+            switch (columnIndex) {
+                case 0:
+                    return file.isSelected();
+                case 1:
+                    return file.getEntityName();
+                case 2:
+                    return file.getPath();
+                default:
+                    return file.getStatus().toString();
+            }
+        }
+
+        @Override
+        public void setValueAt(Object value, int rowIndex, int columnIndex) {
+            files.get(rowIndex).setSelected(Boolean.TRUE.equals(value));
+            fireTableCellUpdated(rowIndex, columnIndex);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.wondernect.plugins.code.generator.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfile;
+import com.wondernect.plugins.code.generator.profile.BaseModelProfiles;
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * 实体签名索引
+ * 以Java文件第一个类上的注解简单名为键，值为该类的签名：包名、导入、类注解及所有字段的修饰符、注解、类型与名称的文本摘要；
+ * 只索引带有内置基础模型实体注解或ApiModel的类，文件文本中不含这些注解时不构建语法树；
+ * 索引时只读取文本不做解析(resolve)，查找实体与判断实体是否变化都不需要加载语法树，注解全名由调用方在基于stub的PSI上确认；
+ * 索引为应用级，项目中自定义配置的实体注解不在索引中，查找时退回按stub逐个确认
+ **/
+public class EntitySignatureIndex extends FileBasedIndexExtension<String, String> {
+
+    public static final ID<String, String> NAME = ID.create("com.wondernect.plugins.code.generator.entitySignature");
+    // 被索引的注解简单名，内置配置的实体注解变化时需同步升级getVersion
+    private static final Set<String> ANNOTATIONS = getIndexedAnnotations();
+
+    @NotNull
+    @Override
+    public ID<String, String> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, String, FileContent> getIndexer() {
+        return inputData -> {
+            if (!mayContainAnnotation(inputData.getContentAsText())) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PsiJavaFile)) {
+                return Collections.emptyMap();
+            }
+            PsiClass[] classes = ((PsiJavaFile) psiFile).getClasses();
+            if (classes.length == 0 || null == classes[0].getModifierList()) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> data = new HashMap<>();
+            String signature = null;
+            for (PsiAnnotation annotation : classes[0].getModifierList().getAnnotations()) {
+                PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+                if (null != reference && ANNOTATIONS.contains(reference.getReferenceName())) {
+                    if (null == signature) {
+                        signature = signature((PsiJavaFile) psiFile);
+                    }
+                    data.put(reference.getReferenceName(), signature);
+                }
+            }
+            return data;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<String> getValueExternalizer() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * 需在读操作及非dumb模式下调用，查找范围内第一个类带有指定注解(全名)的Java文件，按路径排序；
+     * 先按注解简单名查索引(未被索引的注解取范围内所有Java文件)，再在基于stub的PSI上确认注解全名，不加载语法树
+     */
+    public static List<PsiJavaFile> findFiles(Project project, String annotation, GlobalSearchScope scope) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        String shortName = getShortName(annotation);
+        List<VirtualFile> candidates = new ArrayList<>(ANNOTATIONS.contains(shortName) ?
+                FileBasedIndex.getInstance().getContainingFiles(NAME, shortName, scope) :
+                FileTypeIndex.getFiles(JavaFileType.INSTANCE, scope));
+        candidates.sort(Comparator.comparing(VirtualFile::getPath));
+        List<PsiJavaFile> files = new ArrayList<>();
+        for (VirtualFile candidate : candidates) {
+            PsiFile psiFile = psiManager.findFile(candidate);
+            if (psiFile instanceof PsiJavaFile) {
+                PsiClass[] classes = ((PsiJavaFile) psiFile).getClasses();
+                if (classes.length != 0 && null != classes[0].getAnnotation(annotation)) {
+                    files.add((PsiJavaFile) psiFile);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 需在读操作中调用，返回带有指定注解的实体文件的签名；文件不在索引中(如dumb模式或未被索引的注解)时直接从PSI计算，结果与索引一致
+     */
+    public static String getSignature(PsiJavaFile javaFile, String annotation) {
+        VirtualFile virtualFile = javaFile.getVirtualFile();
+        if (null != virtualFile && ANNOTATIONS.contains(getShortName(annotation))) {
+            List<String> values = FileBasedIndex.getInstance().getValues(NAME, getShortName(annotation), GlobalSearchScope.fileScope(javaFile));
+            if (!values.isEmpty()) {
+                return values.get(0);
+            }
+        }
+        return signature(javaFile);
+    }
+
+    /**
+     * 只读取文本：注解或字段类型的文本变化都视为实体变化，导入变化时同样视为变化，保证不会漏掉解析结果的变化
+     */
+    private static String signature(PsiJavaFile javaFile) {
+        PsiClass psiClass = javaFile.getClasses()[0];
+        StringBuilder text = new StringBuilder(1024);
+        text.append(javaFile.getPackageName()).append('\n');
+        PsiImportList importList = javaFile.getImportList();
+        if (null != importList) {
+            text.append(importList.getText()).append('\n');
+        }
+        text.append(psiClass.getName()).append('\n');
+        if (null != psiClass.getModifierList()) {
+            text.append(psiClass.getModifierList().getText()).append('\n');
+        }
+        for (PsiField field : psiClass.getFields()) {
+            if (null != field.getModifierList()) {
+                text.append(field.getModifierList().getText()).append(' ');
+            }
+            text.append(null == field.getTypeElement() ? "" : field.getTypeElement().getText()).append(' ').append(field.getName()).append('\n');
+        }
+        return Fingerprints.of(text);
+    }
+
+    /**
+     * 文本预筛：不含任何被索引注解的文件无需构建语法树，命中后仍以语法树中的注解名为准
+     */
+    private static boolean mayContainAnnotation(CharSequence text) {
+        for (String annotation : ANNOTATIONS) {
+            if (StringUtil.contains(text, "@" + annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> getIndexedAnnotations() {
+        Set<String> annotations = new HashSet<>();
+        annotations.add("ApiModel");
+        for (BaseModelProfile profile : BaseModelProfiles.of(null).getAll()) {
+            annotations.add(getShortName(profile.getEntityAnnotation()));
+        }
+        return Collections.unmodifiableSet(annotations);
+    }
+
+    private static String getShortName(String annotation) {
+        return annotation.substring(annotation.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.wondernect.plugins.code.generator.metrics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 最近一次生成的统计，项目级，不持久化；统计更新时在EDT上通知工具窗口刷新
+ **/
+public class GenerationDiagnostics {
+
+    private volatile GenerationMetrics lastRun;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public static GenerationDiagnostics getInstance(Project project) {
+        return ServiceManager.getService(project, GenerationDiagnostics.class);
+    }
+
+    public GenerationMetrics getLastRun() {
+        return lastRun;
+    }
+
+    public void publish(GenerationMetrics metrics) {
+        metrics.finish();
+        lastRun = metrics;
+        ApplicationManager.getApplication().invokeLater(() -> listeners.forEach(Runnable::run));
+    }
+
+    /**
+     * 监听统计更新，parent释放时移除
+     */
+    public void addListener(Runnable listener, Disposable parent) {
+        listeners.add(listener);
+        Disposer.register(parent, () -> listeners.remove(listener));
+    }
+}
@@ -0,0 +1,248 @@
+package com.wondernect.plugins.code.generator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 一次生成的耗时与分配统计，按阶段汇总，并按阶段+文件(或类名)汇总
+ * 耗时为墙钟时间，分配字节数为执行线程上的分配量(JVM不支持时为-1)；阶段可以嵌套，外层阶段包含内层阶段；线程安全，不依赖IDE
+ **/
+public final class GenerationMetrics {
+
+    // 分析实体并渲染源码，每个实体一次
+    public static final String PREPARE = "prepare";
+    public static final String FIND_CLASS = "PsiUtils.findClass";
+    public static final String CREATE_FILE = "PsiFileFactory.createFileFromText";
+    public static final String ADD_FILE = "PsiDirectory.add";
+    public static final String REPLACE_FILE = "Document.setText";
+    public static final String PATCH_FILE = "DtoFieldPatcher.patch";
+    public static final String REFORMAT = "CodeStyleManager.reformat";
+    // 整个写命令，包含写入、补丁与格式化
+    public static final String WRITE = "write";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final String title;
+    private final long startTime = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final boolean allocationSupported;
+    private final Map<String, PhaseStat> phases = new LinkedHashMap<>();
+    private final Map<String, PhaseStat> artifacts = new LinkedHashMap<>();
+    private long elapsedNanos = -1;
+
+    public GenerationMetrics(String title) {
+        this.title = title;
+        this.allocationSupported = allocatedBytes() >= 0;
+    }
+
+    public <T> T measure(String phase, String artifact, Supplier<T> action) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            long end = System.nanoTime();
+            record(phase, artifact, end - start, allocated < 0 ? -1 : allocatedBytes() - allocated);
+        }
+    }
+
+    public void measure(String phase, String artifact, Runnable action) {
+        measure(phase, artifact, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 生成结束，记录总耗时
+     */
+    public synchronized void finish() {
+        if (elapsedNanos < 0) {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    private synchronized void record(String phase, String artifact, long nanos, long bytes) {
+        phases.computeIfAbsent(phase, key -> new PhaseStat(phase, null)).add(nanos, bytes);
+        if (null != artifact) {
+            artifacts.computeIfAbsent(phase + '\u0000' + artifact, key -> new PhaseStat(phase, artifact)).add(nanos, bytes);
+        }
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public synchronized long getElapsedNanos() {
+        return elapsedNanos < 0 ? System.nanoTime() - startNanos : elapsedNanos;
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    /**
+     * 各阶段汇总，按首次出现的顺序
+     */
+    public synchronized List<PhaseStat> getPhases() {
+        List<PhaseStat> result = new ArrayList<>();
+        phases.values().forEach(stat -> result.add(stat.copy()));
+        return result;
+    }
+
+    /**
+     * 各阶段按文件(或类名)的汇总，按总耗时降序
+     */
+    public synchronized List<PhaseStat> getArtifacts() {
+        List<PhaseStat> result = new ArrayList<>();
+        artifacts.values().forEach(stat -> result.add(stat.copy()));
+        result.sort(Comparator.comparingLong(PhaseStat::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * 导出为JSON，字段顺序固定，便于比较不同版本的结果
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\n");
+        json.append("  \"title\": ").append(quote(title)).append(",\n");
+        json.append("  \"startTime\": ").append(quote(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ").format(new Date(startTime)))).append(",\n");
+        json.append("  \"elapsedNanos\": ").append(getElapsedNanos()).append(",\n");
+        json.append("  \"allocationSupported\": ").append(allocationSupported).append(",\n");
+        appendStats(json, "phases", getPhases(), false);
+        json.append(",\n");
+        appendStats(json, "artifacts", getArtifacts(), true);
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    private static void appendStats(StringBuilder json, String name, List<PhaseStat> stats, boolean withArtifact) {
+        json.append("  ").append(quote(name)).append(": [");
+        for (int i = 0; i < stats.size(); i++) {
+            PhaseStat stat = stats.get(i);
+            json.append(i == 0 ? "\n" : ",\n").append("    {\"phase\": ").append(quote(stat.getPhase()));
+            if (withArtifact) {
+                json.append(", \"artifact\": ").append(quote(stat.getArtifact()));
+            }
+            json.append(", \"count\": ").append(stat.getCount())
+                    .append(", \"totalNanos\": ").append(stat.getTotalNanos())
+                    .append(", \"maxNanos\": ").append(stat.getMaxNanos())
+                    .append(", \"allocatedBytes\": ").append(stat.getAllocatedBytes())
+                    .append('}');
+        }
+        json.append(stats.isEmpty() ? "]" : "\n  ]");
+    }
+
+    private static String quote(String text) {
+        if (null == text) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * 当前线程累计分配的字节数，不支持时返回-1
+     */
+    private static long allocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 阶段统计，artifact为空时是整个阶段的汇总
+     */
+    public static final class PhaseStat {
+        private final String phase;
+        private final String artifact;
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+        // 不支持分配统计时为-1
+        private long allocatedBytes;
+
+        private PhaseStat(String phase, String artifact) {
+            this.phase = phase;
+            this.artifact = artifact;
+        }
+
+        private void add(long nanos, long bytes) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            allocatedBytes = bytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + bytes;
+        }
+
+        private PhaseStat copy() {
+            PhaseStat copy = new PhaseStat(phase, artifact);
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.allocatedBytes = allocatedBytes;
+            return copy;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public String getArtifact() {
+            return artifact;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.wondernect.plugins.code.generator.metrics;
+
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 生成统计面板：上方为各阶段汇总，下方为各文件(或类名)的明细，可导出JSON
+ **/
+class GenerationMetricsPanel extends JPanel {
+
+    private Project project;
+    private JLabel summary = new JLabel("暂无生成记录");
+    private JButton export = new JButton("导出JSON");
+    private StatTableModel phaseModel = new StatTableModel(false);
+    private StatTableModel artifactModel = new StatTableModel(true);
+
+    GenerationMetricsPanel(Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(export);
+        toolbar.add(summary);
+        export.setEnabled(false);
+        export.addActionListener(e -> exportJson());
+        JBSplitter splitter = new JBSplitter(true, 0.35f);
+        splitter.setFirstComponent(new JBScrollPane(new JBTable(phaseModel)));
+        splitter.setSecondComponent(new JBScrollPane(new JBTable(artifactModel)));
+        add(toolbar, BorderLayout.NORTH);
+        add(splitter, BorderLayout.CENTER);
+        refresh();
+    }
+
+    void refresh() {
+        GenerationMetrics metrics = GenerationDiagnostics.getInstance(project).getLastRun();
+        if (null == metrics) {
+            return;
+        }
+        summary.setText(metrics.getTitle() + "，" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(metrics.getStartTime()))
+                + "，总耗时" + toMillis(metrics.getElapsedNanos()) + "ms" + (metrics.isAllocationSupported() ? "" : "，当前JVM不支持分配统计"));
+        export.setEnabled(true);
+        phaseModel.setStats(metrics.getPhases());
+        artifactModel.setStats(metrics.getArtifacts());
+    }
+
+    private void exportJson() {
+        GenerationMetrics metrics = GenerationDiagnostics.getInstance(project).getLastRun();
+        if (null == metrics) {
+            return;
+        }
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("导出生成统计", "以JSON格式保存最近一次生成的统计", "json");
+        VirtualFileWrapper wrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save(null, "generation-metrics.json");
+        if (null == wrapper) {
+            return;
+        }
+        try {
+            Files.write(wrapper.getFile().toPath(), metrics.toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Messages.showErrorDialog(project, "导出失败: " + e.getMessage(), "导出生成统计");
+        }
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    private static class StatTableModel extends AbstractTableModel {
+        private boolean withArtifact;
+        private List<GenerationMetrics.PhaseStat> stats = new ArrayList<>();
+
+        private StatTableModel(boolean withArtifact) {
+            this.withArtifact = withArtifact;
+        }
+
+        private void setStats(List<GenerationMetrics.PhaseStat> stats) {
+            this.stats = stats;
+            fireTableDataChanged();
+        }
+
+        private String[] getColumns() {
+            return withArtifact
+                    ? new String[]{"阶段", "文件", "次数", "总耗时(ms)", "最大耗时(ms)", "分配(KB)"}
+                    : new String[]{"阶段", "次数", "总耗时(ms)", "最大耗时(ms)", "分配(KB)"};
+        }
+
+        @Override
+        public int getRowCount() {
+            return stats.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return getColumns().length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return getColumns()[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            GenerationMetrics.PhaseStat stat = stats.get(rowIndex);
+            // 阶段汇总表没有文件列
+            int column = withArtifact || columnIndex == 0 ? columnIndex : columnIndex + 1;
+            switch (column) {
+                case 0:
+                    return stat.getPhase();
+                case 1:
+                    return stat.getArtifact();
+                case 2:
+                    return stat.getCount();
+                case 3:
+                    return toMillis(stat.getTotalNanos());
+                case 4:
+                    return toMillis(stat.getMaxNanos());
+                default:
+                    return stat.getAllocatedBytes() < 0 ? "-" : String.valueOf(stat.getAllocatedBytes() / 1024);
+            }
+        }
+    }
+}
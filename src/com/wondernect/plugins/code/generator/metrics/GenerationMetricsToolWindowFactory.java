@@ -0,0 +1,23 @@
+package com.wondernect.plugins.code.generator.metrics;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 生成统计工具窗口，展示最近一次生成各阶段及各文件的耗时与分配
+ **/
+public class GenerationMetricsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        GenerationMetricsPanel panel = new GenerationMetricsPanel(project);
+        Content content = ContentFactory.SERVICE.getInstance().createContent(panel, "", false);
+        toolWindow.getContentManager().addContent(content);
+        GenerationDiagnostics.getInstance(project).addListener(panel::refresh, content);
+    }
+}
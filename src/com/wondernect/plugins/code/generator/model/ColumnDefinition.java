@@ -0,0 +1,46 @@
+package com.wondernect.plugins.code.generator.model;
+
+/**
+ * @Column的columnDefinition解析及字段类型判断，插件与命令行生成器共用
+ **/
+public final class ColumnDefinition {
+
+    private ColumnDefinition() {
+    }
+
+    /**
+     * varchar/char的长度，无长度时返回null
+     */
+    public static Integer getLength(String columnDefinition) {
+        if (!columnDefinition.contains("varchar") && !columnDefinition.contains("char")) {
+            return null;
+        }
+        String str = columnDefinition.replace("varchar(", "").replace("char(", "");
+        int idx = str.indexOf(")");
+        if (-1 == idx) {
+            return null;
+        }
+        String lengthStr = str.substring(0, idx).replaceAll("\"", "").trim();
+        return lengthStr.isEmpty() ? null : Integer.parseInt(lengthStr);
+    }
+
+    public static boolean isNullable(String columnDefinition) {
+        return !columnDefinition.contains("not null");
+    }
+
+    /**
+     * 集合与Map类型，不能作为普通列查询
+     */
+    public static boolean isCollectionType(String qualifiedTypeName) {
+        return qualifiedTypeName.startsWith("java.util.List") || qualifiedTypeName.startsWith("java.util.Set")
+                || qualifiedTypeName.startsWith("java.util.Collection") || qualifiedTypeName.startsWith("java.util.Map");
+    }
+
+    /**
+     * text、blob、clob、json等大字段，列表投影中不查询
+     */
+    public static boolean isLarge(String columnDefinition) {
+        String definition = columnDefinition.toLowerCase();
+        return definition.contains("text") || definition.contains("blob") || definition.contains("clob") || definition.contains("json");
+    }
+}
@@ -0,0 +1,102 @@
+package com.wondernect.plugins.code.generator.model;
+
+/**
+ * 实体字段，不可变
+ **/
+public final class EntityField {
+
+    private final String name;
+    // 类型全名，如java.lang.String
+    private final String qualifiedTypeName;
+    // 类型简单名，如String
+    private final String typeName;
+    // 是否被@Id注解
+    private final boolean id;
+    // @ApiModelProperty的value或notes
+    private final String description;
+    // 字符串字段columnDefinition中的varchar/char长度，无则为null
+    private final Integer length;
+    // columnDefinition中没有not null时为true
+    private final boolean nullable;
+    // 被@Lob注解或columnDefinition为text、blob等大字段类型
+    private final boolean large;
+    // 是否映射为实体表中的普通列，静态、瞬时(@Transient或transient)、关联(@OneToMany等)及集合字段为false
+    private final boolean column;
+    // columnDefinition中的not null、@Column(nullable = false)或@NotNull/@NotBlank任一声明非空时为true，只用于校验滚动分页的排序键，请求DTO的校验注解仍按nullable
+    private final boolean notNull;
+    private final TemporalKind temporalKind;
+
+    public EntityField(String name, String qualifiedTypeName, boolean id, String description, Integer length, boolean nullable) {
+        this(name, qualifiedTypeName, id, description, length, nullable, false);
+    }
+
+    public EntityField(String name, String qualifiedTypeName, boolean id, String description, Integer length, boolean nullable, boolean large) {
+        this(name, qualifiedTypeName, id, description, length, nullable, large, true);
+    }
+
+    public EntityField(String name, String qualifiedTypeName, boolean id, String description, Integer length, boolean nullable, boolean large, boolean column) {
+        this(name, qualifiedTypeName, id, description, length, nullable, large, column, !nullable);
+    }
+
+    public EntityField(String name, String qualifiedTypeName, boolean id, String description, Integer length, boolean nullable, boolean large, boolean column, boolean notNull) {
+        this.name = name;
+        this.qualifiedTypeName = qualifiedTypeName;
+        this.typeName = qualifiedTypeName.contains(".") ? qualifiedTypeName.substring(qualifiedTypeName.lastIndexOf(".") + 1) : qualifiedTypeName;
+        this.id = id;
+        this.description = description;
+        this.length = length;
+        this.nullable = nullable;
+        this.large = large;
+        this.column = column;
+        this.notNull = notNull || !nullable;
+        this.temporalKind = TemporalKind.of(typeName);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getQualifiedTypeName() {
+        return qualifiedTypeName;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public boolean isId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getLength() {
+        return length;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public boolean isLarge() {
+        return large;
+    }
+
+    public boolean isColumn() {
+        return column;
+    }
+
+    public boolean isNotNull() {
+        return notNull;
+    }
+
+    public TemporalKind getTemporalKind() {
+        return temporalKind;
+    }
+
+    public boolean isString() {
+        return "String".equals(typeName);
+    }
+}
@@ -0,0 +1,97 @@
+package com.wondernect.plugins.code.generator.model;
+
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 实体模型，一次读取实体类得到，不可变，所有生成器共用
+ **/
+public final class EntityModel {
+
+    private final String name;
+    private final String qualifiedName;
+    // @ApiModel的value或description
+    private final String description;
+    private final List<EntityField> fields;
+    // 从基础模型(@MappedSuperclass)继承的字段，未读取基础模型时为null
+    private final List<EntityField> baseFields;
+    // 延迟计算的指纹
+    private volatile String fingerprint;
+
+    public EntityModel(String name, String qualifiedName, String description, List<EntityField> fields) {
+        this(name, qualifiedName, description, fields, null);
+    }
+
+    public EntityModel(String name, String qualifiedName, String description, List<EntityField> fields, List<EntityField> baseFields) {
+        this.name = name;
+        this.qualifiedName = qualifiedName;
+        this.description = description;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+        this.baseFields = null == baseFields ? null : Collections.unmodifiableList(new ArrayList<>(baseFields));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<EntityField> getFields() {
+        return fields;
+    }
+
+    /**
+     * 从基础模型继承的字段，未读取基础模型(如命令行生成器看不到依赖jar中的类)时为空
+     */
+    public Optional<List<EntityField>> getBaseFields() {
+        return Optional.ofNullable(baseFields);
+    }
+
+    /**
+     * 被@Id注解的字段
+     */
+    public Optional<EntityField> getIdField() {
+        return fields.stream().filter(EntityField::isId).findFirst();
+    }
+
+    /**
+     * 实体指纹，覆盖实体描述及所有字段(含继承的字段)的名称、类型、主键、描述、长度、可空性、是否大字段与是否普通列
+     */
+    public String fingerprint() {
+        String result = fingerprint;
+        if (null == result) {
+            List<Object> parts = new ArrayList<>();
+            parts.add(qualifiedName);
+            parts.add(description);
+            List<EntityField> allFields = new ArrayList<>(fields);
+            if (null != baseFields) {
+                parts.add(baseFields.size());
+                allFields.addAll(baseFields);
+            }
+            for (EntityField field : allFields) {
+                parts.add(field.getName());
+                parts.add(field.getQualifiedTypeName());
+                parts.add(field.isId());
+                parts.add(field.getDescription());
+                parts.add(field.getLength());
+                parts.add(field.isNullable());
+                parts.add(field.isLarge());
+                parts.add(field.isColumn());
+                parts.add(field.isNotNull());
+            }
+            result = Fingerprints.of(parts.toArray());
+            fingerprint = result;
+        }
+        return result;
+    }
+}
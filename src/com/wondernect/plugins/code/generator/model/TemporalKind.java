@@ -0,0 +1,37 @@
+package com.wondernect.plugins.code.generator.model;
+
+/**
+ * 字段的时间类型，决定DTO上的JsonFormat格式
+ **/
+public enum TemporalKind {
+
+    NONE(null),
+
+    DATE("yyyy-MM-dd"),
+
+    DATE_TIME("yyyy-MM-dd HH:mm:ss");
+
+    private final String pattern;
+
+    TemporalKind(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 按类型简单名判断，LocalDate与LocalDateTime之外均为NONE
+     */
+    public static TemporalKind of(String typeName) {
+        switch (typeName.toLowerCase()) {
+            case "localdate":
+                return DATE;
+            case "localdatetime":
+                return DATE_TIME;
+            default:
+                return NONE;
+        }
+    }
+}
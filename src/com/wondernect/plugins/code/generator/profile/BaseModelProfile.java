@@ -0,0 +1,246 @@
+package com.wondernect.plugins.code.generator.profile;
+
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 基础模型配置，描述实体继承的基础模型对应的各层基础类，不可变
+ * 基础类可以写简单类名(在项目中查找)或全限定名
+ **/
+public final class BaseModelProfile {
+
+    private final String id;
+    private final String name;
+    // 需要处理的实体类注解
+    private final String entityAnnotation;
+    // 主键类型，为空时读取实体中@Id字段(String或Long)
+    private final String idType;
+    // 基础类泛型是否带主键类型，如BaseRepository<X, String>
+    private final boolean idGeneric;
+    private final String baseRepository;
+    private final String baseDao;
+    private final String baseManager;
+    private final String baseService;
+    private final String baseResponseDTO;
+    // 列表与分页是否通过列表投影只查询响应中的列，默认关闭；生成的代码依赖基础库的PageRequestData、SortData与PageResponseData接口，确认基础库支持后再开启
+    private final boolean listProjection;
+    // 基础模型中的列(不含主键)，如createTime:Long,updateTime:Long，列表投影需要查询它们填充基础响应DTO中的字段；
+    // 插件从实体的@MappedSuperclass父类读取，读取不到(如命令行生成器)时使用此配置，未配置时为null
+    private final List<EntityField> baseColumns;
+    // 是否生成按游标(上一页最后一条)翻页的滚动分页，深分页时不扫描已翻过的行，也不统计总数
+    private final boolean scroll;
+    // 滚动分页的排序键，为空时按主键滚动；须为实体中非空且不是大字段的普通列，否则生成时报错
+    private final String scrollKey;
+    // 是否生成流式读取，服务端游标按fetchSize分批取数，结果集再大内存也不随之增长
+    private final boolean stream;
+    private final int streamFetchSize;
+    // 是否生成批量创建与更新，每写入batchSize条flush并clear一次，使JDBC批量写入生效且持久化上下文不随批次增长
+    private final boolean batch;
+    private final int batchSize;
+    // 是否生成按id列表批量删除，一条delete语句删除一段，每段的id数不超过数据库的参数上限(如Oracle的in列表最多1000个)
+    private final boolean bulkDelete;
+    private final int deleteChunkSize;
+
+    private BaseModelProfile(String id, Properties properties) {
+        this.id = id;
+        this.name = properties.getProperty("name", id);
+        this.entityAnnotation = properties.getProperty("entityAnnotation", "javax.persistence.Entity");
+        this.idType = emptyToNull(properties.getProperty("idType"));
+        this.idGeneric = Boolean.parseBoolean(properties.getProperty("idGeneric", String.valueOf(null == idType)));
+        this.baseRepository = required(properties, "baseRepository");
+        this.baseDao = required(properties, "baseDao");
+        this.baseManager = required(properties, "baseManager");
+        this.baseService = required(properties, "baseService");
+        this.baseResponseDTO = required(properties, "baseResponseDTO");
+        this.listProjection = Boolean.parseBoolean(properties.getProperty("listProjection", "false"));
+        this.baseColumns = null == properties.getProperty("baseColumns") ? null : parseColumns(properties.getProperty("baseColumns"));
+        this.scroll = Boolean.parseBoolean(properties.getProperty("scroll", "false"));
+        this.scrollKey = emptyToNull(properties.getProperty("scrollKey"));
+        this.stream = Boolean.parseBoolean(properties.getProperty("stream", "false"));
+        this.streamFetchSize = positive(properties, "streamFetchSize", 1000);
+        this.batch = Boolean.parseBoolean(properties.getProperty("batch", "false"));
+        this.batchSize = positive(properties, "batchSize", 500);
+        this.bulkDelete = Boolean.parseBoolean(properties.getProperty("bulkDelete", "false"));
+        this.deleteChunkSize = positive(properties, "deleteChunkSize", 1000);
+    }
+
+    public static BaseModelProfile of(String id, Properties properties) {
+        return new BaseModelProfile(id, properties);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEntityAnnotation() {
+        return entityAnnotation;
+    }
+
+    public String getIdType() {
+        return idType;
+    }
+
+    public boolean isIdGeneric() {
+        return idGeneric;
+    }
+
+    public String getBaseRepository() {
+        return baseRepository;
+    }
+
+    public String getBaseDao() {
+        return baseDao;
+    }
+
+    public String getBaseManager() {
+        return baseManager;
+    }
+
+    public String getBaseService() {
+        return baseService;
+    }
+
+    public String getBaseResponseDTO() {
+        return baseResponseDTO;
+    }
+
+    public boolean isListProjection() {
+        return listProjection;
+    }
+
+    public List<EntityField> getBaseColumns() {
+        return baseColumns;
+    }
+
+    public boolean isScroll() {
+        return scroll;
+    }
+
+    public String getScrollKey() {
+        return scrollKey;
+    }
+
+    public boolean isStream() {
+        return stream;
+    }
+
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isBulkDelete() {
+        return bulkDelete;
+    }
+
+    public int getDeleteChunkSize() {
+        return deleteChunkSize;
+    }
+
+    /**
+     * 模板中使用的基础类简单名、主键泛型、列表投影、滚动分页、流式读取、批量写入及批量删除标记
+     */
+    public void fillTemplateContext(Map<String, Object> context) {
+        context.put("idGeneric", idGeneric);
+        context.put("baseRepository", simpleName(baseRepository));
+        context.put("baseDao", simpleName(baseDao));
+        context.put("baseManager", simpleName(baseManager));
+        context.put("baseService", simpleName(baseService));
+        context.put("baseResponseDTO", simpleName(baseResponseDTO));
+        context.put("listProjection", listProjection);
+        context.put("scroll", scroll);
+        context.put("stream", stream);
+        context.put("streamFetchSize", streamFetchSize);
+        context.put("batch", batch);
+        context.put("batchSize", batchSize);
+        context.put("bulkDelete", bulkDelete);
+        context.put("deleteChunkSize", deleteChunkSize);
+        context.put("repositoryQueries", listProjection || scroll || stream || batch || bulkDelete);
+        context.put("entityManager", batch || (stream && !listProjection));
+        context.put("sortConversion", listProjection || stream);
+    }
+
+    /**
+     * 基础模型指纹，任一配置项变化时改变
+     */
+    public String fingerprint() {
+        return Fingerprints.of(id, name, entityAnnotation, idType, idGeneric, baseRepository, baseDao, baseManager, baseService, baseResponseDTO, listProjection, columnsText(), scroll, scrollKey, stream, streamFetchSize, batch, batchSize, bulkDelete, deleteChunkSize);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private String required(Properties properties, String key) {
+        String value = emptyToNull(properties.getProperty(key));
+        if (null == value) {
+            throw new IllegalArgumentException("基础模型" + id + "缺少配置项" + key);
+        }
+        return value;
+    }
+
+    /**
+     * 解析name:Type列表，Type不带包名时为java.lang下的类型
+     */
+    private List<EntityField> parseColumns(String value) {
+        List<EntityField> columns = new ArrayList<>();
+        for (String column : value.split(",")) {
+            if (column.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = column.trim().split("\\s*:\\s*");
+            if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("基础模型" + id + "的配置项baseColumns格式应为name:Type，如createTime:Long");
+            }
+            String type = parts[1].contains(".") ? parts[1] : "java.lang." + parts[1];
+            columns.add(new EntityField(parts[0], type, false, parts[0], null, true));
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    private String columnsText() {
+        if (null == baseColumns) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        baseColumns.forEach(column -> text.append(column.getName()).append(':').append(column.getQualifiedTypeName()).append(','));
+        return text.toString();
+    }
+
+    private int positive(Properties properties, String key, int defaultValue) {
+        String value = emptyToNull(properties.getProperty(key));
+        if (null == value) {
+            return defaultValue;
+        }
+        if (!value.matches("[1-9][0-9]{0,8}")) {
+            throw new IllegalArgumentException("基础模型" + id + "的配置项" + key + "必须为正整数");
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static String emptyToNull(String value) {
+        return null == value || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
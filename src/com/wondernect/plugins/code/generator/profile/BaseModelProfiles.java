@@ -0,0 +1,91 @@
+package com.wondernect.plugins.code.generator.profile;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 基础模型配置集合
+ * 内置配置位于插件resources/profiles/{id}.properties；
+ * 项目根目录下.wondernect/profiles/{id}.properties可覆盖内置配置，或新增基础模型(如MongoDB)，无需新增代码
+ **/
+public class BaseModelProfiles {
+
+    public static final String OVERRIDE_DIRECTORY = ".wondernect/profiles";
+    private static final String RESOURCE_DIRECTORY = "/profiles/";
+    private static final String SUFFIX = ".properties";
+    private static final List<String> BUILTIN_IDS = Arrays.asList("string", "long", "base", "rdb");
+
+    private static volatile Map<String, BaseModelProfile> builtinProfiles;
+
+    private Map<String, BaseModelProfile> profiles;
+
+    private BaseModelProfiles(Map<String, BaseModelProfile> profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * @param projectBasePath 项目根目录，为空时只使用内置配置
+     */
+    public static BaseModelProfiles of(String projectBasePath) {
+        Map<String, BaseModelProfile> profiles = new LinkedHashMap<>(getBuiltinProfiles());
+        if (null != projectBasePath) {
+            Path directory = Paths.get(projectBasePath, OVERRIDE_DIRECTORY);
+            if (Files.isDirectory(directory)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+                    for (Path file : stream) {
+                        String fileName = file.getFileName().toString();
+                        String id = fileName.substring(0, fileName.length() - SUFFIX.length());
+                        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                            profiles.put(id, load(id, reader));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("读取基础模型配置" + directory + "失败", e);
+                }
+            }
+        }
+        return new BaseModelProfiles(profiles);
+    }
+
+    public BaseModelProfile get(String id) {
+        BaseModelProfile profile = profiles.get(id);
+        if (null == profile) {
+            throw new IllegalArgumentException("基础模型" + id + "不存在");
+        }
+        return profile;
+    }
+
+    public Collection<BaseModelProfile> getAll() {
+        return Collections.unmodifiableCollection(profiles.values());
+    }
+
+    private static Map<String, BaseModelProfile> getBuiltinProfiles() {
+        if (null == builtinProfiles) {
+            Map<String, BaseModelProfile> profiles = new LinkedHashMap<>();
+            for (String id : BUILTIN_IDS) {
+                InputStream inputStream = BaseModelProfiles.class.getResourceAsStream(RESOURCE_DIRECTORY + id + SUFFIX);
+                if (null == inputStream) {
+                    throw new IllegalStateException("内置基础模型配置" + id + "不存在");
+                }
+                try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                    profiles.put(id, load(id, reader));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("读取内置基础模型配置" + id + "失败", e);
+                }
+            }
+            builtinProfiles = Collections.unmodifiableMap(profiles);
+        }
+        return builtinProfiles;
+    }
+
+    private static BaseModelProfile load(String id, Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        return BaseModelProfile.of(id, properties);
+    }
+}
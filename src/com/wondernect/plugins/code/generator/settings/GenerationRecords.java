@@ -0,0 +1,205 @@
+package com.wondernect.plugins.code.generator.settings;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * 代码生成记录，项目级存储
+ * 实体记录保存实体指纹与生成参数，用于跳过未变化的实体及重新生成过期代码；
+ * 文件记录保存生成输入指纹与写入后的内容摘要，输入未变化的文件不再写入，生成后被手工修改过的文件不会被覆盖；
+ * 可补丁的DTO还记录生成器写入的字段名，补丁时只删除其中实体已不存在的字段
+ **/
+@State(name = "WondernectCodeGenerationRecords", storages = @Storage("wondernect-code-generator-records.xml"))
+public class GenerationRecords implements PersistentStateComponent<GenerationRecords.Records> {
+
+    public static class Records {
+        // 实体全名#生成器 -> 实体记录
+        public Map<String, EntityRecord> entities = new TreeMap<>();
+        // 相对项目根目录的文件路径 -> 文件记录
+        public Map<String, ArtifactRecord> artifacts = new TreeMap<>();
+    }
+
+    public static class EntityRecord {
+        public static final String CRUD = "crud";
+        public static final String EXCEL = "excel";
+
+        // 实体全名
+        public String entity;
+        // 生成器类型，crud或excel
+        public String generator;
+        // 基础模型id，excel生成器为空
+        public String profile;
+        public String author;
+        public String version;
+        public String service;
+        // 实体模型、基础模型、模板与生成参数的联合指纹
+        public String fingerprint;
+
+        public EntityRecord() {
+        }
+
+        public EntityRecord(String entity, String generator, String profile, String author, String version, String service, String fingerprint) {
+            this.entity = entity;
+            this.generator = generator;
+            this.profile = profile;
+            this.author = author;
+            this.version = version;
+            this.service = service;
+            this.fingerprint = fingerprint;
+        }
+
+        String getKey() {
+            return entity + "#" + generator;
+        }
+    }
+
+    public static class ArtifactRecord {
+        // 生成内容(不含生成时间)的指纹
+        public String input;
+        // 写入并格式化后的文件内容摘要
+        public String content;
+        // 可补丁文件中由生成器写入的字段名，旧记录或不可补丁的文件为null
+        public List<String> fields;
+    }
+
+    private final Project project;
+    private Records records = new Records();
+
+    public GenerationRecords(Project project) {
+        this.project = project;
+    }
+
+    public static GenerationRecords getInstance(Project project) {
+        return ServiceManager.getService(project, GenerationRecords.class);
+    }
+
+    @NotNull
+    @Override
+    public synchronized Records getState() {
+        return records;
+    }
+
+    @Override
+    public synchronized void loadState(@NotNull Records records) {
+        this.records = records;
+    }
+
+    /**
+     * 实体上次生成时的指纹与当前一致
+     */
+    public synchronized boolean isUpToDate(EntityRecord record) {
+        EntityRecord previous = records.entities.get(record.getKey());
+        return null != previous && record.fingerprint.equals(previous.fingerprint);
+    }
+
+    public synchronized void putEntity(EntityRecord record) {
+        records.entities.put(record.getKey(), record);
+    }
+
+    /**
+     * 实体的所有生成记录(可能同时有crud与excel)
+     */
+    public synchronized List<EntityRecord> getEntities(String entity) {
+        List<EntityRecord> result = new ArrayList<>();
+        String prefix = entity + "#";
+        for (Map.Entry<String, EntityRecord> entry : records.entities.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 文件记录的键，项目内文件使用相对路径，项目移动后记录仍然有效
+     */
+    public String artifactKey(String path) {
+        String basePath = project.getBasePath();
+        String relativePath = null == basePath ? null : FileUtil.getRelativePath(basePath, path, '/');
+        return null == relativePath ? path : relativePath;
+    }
+
+    /**
+     * 文件上次写入时的生成内容与当前一致
+     */
+    public synchronized boolean isUpToDate(String artifactKey, String input) {
+        ArtifactRecord artifact = records.artifacts.get(artifactKey);
+        return null != artifact && input.equals(artifact.input);
+    }
+
+    /**
+     * 文件自上次写入后未被修改，可以安全覆盖
+     */
+    public synchronized boolean isUnmodified(String artifactKey, CharSequence text) {
+        ArtifactRecord artifact = records.artifacts.get(artifactKey);
+        return null != artifact && null != artifact.content && artifact.content.equals(Fingerprints.of(text));
+    }
+
+    public synchronized void putArtifact(String artifactKey, String input) {
+        ArtifactRecord artifact = new ArtifactRecord();
+        artifact.input = input;
+        records.artifacts.put(artifactKey, artifact);
+    }
+
+    /**
+     * 文件记录的副本，没有记录时返回null
+     */
+    public synchronized ArtifactRecord getArtifact(String artifactKey) {
+        ArtifactRecord artifact = records.artifacts.get(artifactKey);
+        if (null == artifact) {
+            return null;
+        }
+        ArtifactRecord copy = new ArtifactRecord();
+        copy.input = artifact.input;
+        copy.content = artifact.content;
+        copy.fields = null == artifact.fields ? null : new ArrayList<>(artifact.fields);
+        return copy;
+    }
+
+    /**
+     * 回滚时恢复文件记录，artifact为null时删除记录
+     */
+    public synchronized void restoreArtifact(String artifactKey, ArtifactRecord artifact) {
+        if (null == artifact) {
+            records.artifacts.remove(artifactKey);
+        } else {
+            records.artifacts.put(artifactKey, artifact);
+        }
+    }
+
+    /**
+     * 可补丁文件上次由生成器写入的字段名，没有记录时返回空集合，补丁时不删除任何字段
+     */
+    public synchronized Set<String> getArtifactFields(String artifactKey) {
+        ArtifactRecord artifact = records.artifacts.get(artifactKey);
+        return null == artifact || null == artifact.fields ? Collections.emptySet() : new HashSet<>(artifact.fields);
+    }
+
+    /**
+     * 记录可补丁文件中由生成器写入的字段名
+     */
+    public synchronized void putArtifactFields(String artifactKey, List<String> fields) {
+        ArtifactRecord artifact = records.artifacts.get(artifactKey);
+        if (null != artifact) {
+            artifact.fields = new ArrayList<>(fields);
+        }
+    }
+
+    /**
+     * 记录文件写入(及格式化)后的内容
+     */
+    public synchronized void putArtifactContent(String artifactKey, CharSequence text) {
+        ArtifactRecord artifact = records.artifacts.get(artifactKey);
+        if (null != artifact) {
+            artifact.content = Fingerprints.of(text);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wondernect.plugins.code.generator.settings;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 代码生成器项目级配置
+ **/
+@State(name = "WondernectCodeGeneratorSettings", storages = @Storage("wondernect-code-generator.xml"))
+public class GeneratorSettings implements PersistentStateComponent<GeneratorSettings.Settings> {
+
+    // 生成代码的各层，默认生成在实体上级目录下与层同名的目录中
+    public static final List<String> LAYERS = Arrays.asList("repository", "dao", "manager", "dto", "service", "controller", "excel", "excel_export");
+
+    public static class Settings {
+        // 生成结束后统一格式化所有新文件，模板输出已缩进良好时可关闭
+        public boolean reformat = true;
+        // 层 -> 相对实体上级目录的路径(以/分隔)，未配置的层使用层名，如dao -> persistence/dao
+        public Map<String, String> layers = new TreeMap<>();
+    }
+
+    private Settings settings = new Settings();
+
+    public static GeneratorSettings getInstance(Project project) {
+        return ServiceManager.getService(project, GeneratorSettings.class);
+    }
+
+    @NotNull
+    @Override
+    public Settings getState() {
+        return settings;
+    }
+
+    @Override
+    public void loadState(@NotNull Settings settings) {
+        this.settings = settings;
+    }
+
+    public boolean isReformat() {
+        return settings.reformat;
+    }
+
+    public void setReformat(boolean reformat) {
+        settings.reformat = reformat;
+    }
+
+    public Map<String, String> getLayers() {
+        return new TreeMap<>(settings.layers);
+    }
+
+    public void setLayers(Map<String, String> layers) {
+        settings.layers = new TreeMap<>(layers);
+    }
+
+    /**
+     * 解析"层=路径"列表，以逗号或分号分隔，如dao=persistence/dao, dto=api/dto；格式错误时抛出IllegalArgumentException
+     */
+    public static Map<String, String> parseLayers(String text) {
+        Map<String, String> layers = new TreeMap<>();
+        for (String entry : text.split("[,;]")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            int idx = entry.indexOf('=');
+            String layer = idx < 0 ? entry.trim() : entry.substring(0, idx).trim();
+            if (idx < 0 || !LAYERS.contains(layer)) {
+                throw new IllegalArgumentException("目录布局格式错误: " + entry.trim() + "，层只能是" + String.join("、", LAYERS));
+            }
+            String path = entry.substring(idx + 1).trim().replace('\\', '/');
+            for (String segment : path.split("/")) {
+                if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                    throw new IllegalArgumentException("目录布局路径错误: " + entry.trim() + "，只能是实体上级目录下的相对路径");
+                }
+            }
+            if (!layer.equals(path)) {
+                layers.put(layer, path);
+            }
+        }
+        return layers;
+    }
+
+    public static String formatLayers(Map<String, String> layers) {
+        StringBuilder text = new StringBuilder();
+        layers.forEach((layer, path) -> text.append(text.length() == 0 ? "" : ", ").append(layer).append('=').append(path));
+        return text.toString();
+    }
+}
@@ -0,0 +1,232 @@
+package com.wondernect.plugins.code.generator.template;
+
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+
+import java.util.*;
+
+/**
+ * 编译后的模板，不可变，可在多线程间共享
+ * 语法(Mustache子集)：
+ * {{name}} 变量；{{#name}}...{{/name}} 区块(true、非空字符串、Map时渲染一次，集合时逐项渲染)；
+ * {{^name}}...{{/name}} 反向区块(值为空时渲染)；{{! 注释 }}
+ * 独占一行的区块标签与注释不产生空行
+ **/
+public final class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final List<Node> nodes;
+    // 模板源码指纹
+    private final String fingerprint;
+
+    private Template(String name, List<Node> nodes, String fingerprint) {
+        this.name = name;
+        this.nodes = nodes;
+        this.fingerprint = fingerprint;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 编译模板源码
+     */
+    public static Template compile(String name, String source) {
+        Deque<Section> sections = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open == -1) {
+                current.add(new Text(source.substring(position)));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close == -1) {
+                throw new TemplateException(name + ": 第" + line(source, open) + "行标签未闭合");
+            }
+            String tag = source.substring(open + OPEN.length(), close).trim();
+            char type = tag.isEmpty() ? ' ' : tag.charAt(0);
+            boolean control = type == '#' || type == '^' || type == '/' || type == '!';
+            int textEnd = open;
+            int next = close + CLOSE.length();
+            if (control) {
+                // 独占一行的控制标签连同所在行一起去掉
+                int lineStart = source.lastIndexOf('\n', open - 1) + 1;
+                int lineEnd = source.indexOf('\n', next);
+                if (lineStart >= position && isBlank(source, lineStart, open) && isBlank(source, next, lineEnd == -1 ? source.length() : lineEnd)) {
+                    textEnd = lineStart;
+                    next = lineEnd == -1 ? source.length() : lineEnd + 1;
+                }
+            }
+            if (textEnd > position) {
+                current.add(new Text(source.substring(position, textEnd)));
+            }
+            switch (type) {
+                case '#':
+                case '^': {
+                    Section section = new Section(tag.substring(1).trim(), type == '^');
+                    current.add(section);
+                    sections.push(section);
+                    current = section.children;
+                    break;
+                }
+                case '/': {
+                    String sectionName = tag.substring(1).trim();
+                    if (sections.isEmpty() || !sections.peek().key.equals(sectionName)) {
+                        throw new TemplateException(name + ": 第" + line(source, open) + "行区块结束标签{{/" + sectionName + "}}不匹配");
+                    }
+                    sections.pop();
+                    current = sections.isEmpty() ? root : sections.peek().children;
+                    break;
+                }
+                case '!':
+                    break;
+                default:
+                    current.add(new Variable(tag));
+                    break;
+            }
+            position = next;
+        }
+        if (!sections.isEmpty()) {
+            throw new TemplateException(name + ": 区块{{#" + sections.peek().key + "}}未结束");
+        }
+        return new Template(name, Collections.unmodifiableList(root), Fingerprints.of(source));
+    }
+
+    /**
+     * 渲染模板
+     */
+    public String render(Map<String, ?> context) {
+        StringBuilder builder = new StringBuilder(1024);
+        Deque<Map<String, ?>> stack = new ArrayDeque<>();
+        stack.push(context);
+        render(nodes, stack, builder);
+        return builder.toString();
+    }
+
+    private static void render(List<Node> nodes, Deque<Map<String, ?>> stack, StringBuilder builder) {
+        for (Node node : nodes) {
+            node.render(stack, builder);
+        }
+    }
+
+    private static Object lookup(Deque<Map<String, ?>> stack, String key) {
+        for (Map<String, ?> context : stack) {
+            if (context.containsKey(key)) {
+                return context.get(key);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String source, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int line(String source, int position) {
+        int line = 1;
+        for (int i = 0; i < position; i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private interface Node {
+        void render(Deque<Map<String, ?>> stack, StringBuilder builder);
+    }
+
+    private static final class Text implements Node {
+        private final String text;
+
+        private Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(Deque<Map<String, ?>> stack, StringBuilder builder) {
+            builder.append(text);
+        }
+    }
+
+    private static final class Variable implements Node {
+        private final String key;
+
+        private Variable(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void render(Deque<Map<String, ?>> stack, StringBuilder builder) {
+            Object value = lookup(stack, key);
+            if (null != value) {
+                builder.append(value);
+            }
+        }
+    }
+
+    private static final class Section implements Node {
+        private final String key;
+        private final boolean inverted;
+        private final List<Node> children = new ArrayList<>();
+
+        private Section(String key, boolean inverted) {
+            this.key = key;
+            this.inverted = inverted;
+        }
+
+        @Override
+        public void render(Deque<Map<String, ?>> stack, StringBuilder builder) {
+            Object value = lookup(stack, key);
+            boolean empty = null == value ||
+                    Boolean.FALSE.equals(value) ||
+                    (value instanceof CharSequence && ((CharSequence) value).length() == 0) ||
+                    (value instanceof Collection && ((Collection<?>) value).isEmpty());
+            if (inverted) {
+                if (empty) {
+                    Template.render(children, stack, builder);
+                }
+                return;
+            }
+            if (empty) {
+                return;
+            }
+            if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    renderItem(item, stack, builder);
+                }
+            } else {
+                renderItem(value, stack, builder);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void renderItem(Object item, Deque<Map<String, ?>> stack, StringBuilder builder) {
+            if (item instanceof Map) {
+                stack.push((Map<String, ?>) item);
+                Template.render(children, stack, builder);
+                stack.pop();
+            } else {
+                stack.push(Collections.singletonMap(".", item));
+                Template.render(children, stack, builder);
+                stack.pop();
+            }
+        }
+    }
+}
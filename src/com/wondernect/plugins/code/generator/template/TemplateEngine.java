@@ -0,0 +1,109 @@
+package com.wondernect.plugins.code.generator.template;
+
+import com.wondernect.plugins.code.generator.util.Fingerprints;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 模板引擎
+ * 模板只在首次使用时解析编译，编译结果在整个IDE会话内缓存共享；
+ * 项目根目录下存在.wondernect/templates/{name}.tpl时优先使用，文件修改后自动重新编译
+ **/
+public class TemplateEngine {
+
+    public static final String OVERRIDE_DIRECTORY = ".wondernect/templates";
+    private static final String RESOURCE_DIRECTORY = "/templates/";
+    private static final String SUFFIX = ".tpl";
+
+    private static final ConcurrentMap<String, CompiledTemplate> COMPILED_TEMPLATES = new ConcurrentHashMap<>();
+
+    private Path overrideDirectory;
+
+    private TemplateEngine(Path overrideDirectory) {
+        this.overrideDirectory = overrideDirectory;
+    }
+
+    /**
+     * @param projectBasePath 项目根目录，为空时只使用插件自带模板
+     */
+    public static TemplateEngine of(String projectBasePath) {
+        return new TemplateEngine(null == projectBasePath ? null : Paths.get(projectBasePath, OVERRIDE_DIRECTORY));
+    }
+
+    public String render(String name, Map<String, ?> context) {
+        return getTemplate(name).render(context);
+    }
+
+    /**
+     * 多个模板的联合指纹，项目覆盖模板修改后随之变化
+     */
+    public String fingerprint(String... names) {
+        Object[] parts = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            parts[i] = getTemplate(names[i]).getFingerprint();
+        }
+        return Fingerprints.of(parts);
+    }
+
+    public Template getTemplate(String name) {
+        if (null != overrideDirectory) {
+            Path overrideFile = overrideDirectory.resolve(name + SUFFIX);
+            if (Files.isRegularFile(overrideFile)) {
+                return getOverrideTemplate(name, overrideFile);
+            }
+        }
+        return COMPILED_TEMPLATES.computeIfAbsent("classpath:" + name, key -> new CompiledTemplate(0, Template.compile(name, readResource(name)))).template;
+    }
+
+    private Template getOverrideTemplate(String name, Path overrideFile) {
+        try {
+            long stamp = Files.getLastModifiedTime(overrideFile).toMillis() ^ Files.size(overrideFile);
+            String key = overrideFile.toAbsolutePath().toString();
+            CompiledTemplate compiledTemplate = COMPILED_TEMPLATES.get(key);
+            if (null == compiledTemplate || compiledTemplate.stamp != stamp) {
+                String source = new String(Files.readAllBytes(overrideFile), StandardCharsets.UTF_8);
+                compiledTemplate = new CompiledTemplate(stamp, Template.compile(name, source));
+                COMPILED_TEMPLATES.put(key, compiledTemplate);
+            }
+            return compiledTemplate.template;
+        } catch (IOException e) {
+            throw new TemplateException("读取模板" + overrideFile + "失败", e);
+        }
+    }
+
+    private static String readResource(String name) {
+        try (InputStream inputStream = TemplateEngine.class.getResourceAsStream(RESOURCE_DIRECTORY + name + SUFFIX)) {
+            if (null == inputStream) {
+                throw new TemplateException("模板" + name + "不存在");
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new TemplateException("读取模板" + name + "失败", e);
+        }
+    }
+
+    private static class CompiledTemplate {
+        private long stamp;
+        private Template template;
+
+        private CompiledTemplate(long stamp, Template template) {
+            this.stamp = stamp;
+            this.template = template;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.wondernect.plugins.code.generator.template;
+
+/**
+ * 模板加载或解析异常
+ **/
+public class TemplateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TemplateException(String message) {
+        super(message);
+    }
+
+    public TemplateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
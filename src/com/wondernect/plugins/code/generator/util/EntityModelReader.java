@@ -0,0 +1,126 @@
+package com.wondernect.plugins.code.generator.util;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.wondernect.plugins.code.generator.CodeGenerationException;
+import com.wondernect.plugins.code.generator.model.ColumnDefinition;
+import com.wondernect.plugins.code.generator.model.EntityField;
+import com.wondernect.plugins.code.generator.model.EntityModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从实体类读取实体模型
+ * 每个字段的注解只解析一次，结果缓存在实体类上，实体或其基础模型所在文件修改后失效
+ **/
+public class EntityModelReader {
+
+    private static final String ID = "javax.persistence.Id";
+    private static final String COLUMN = "javax.persistence.Column";
+    private static final String LOB = "javax.persistence.Lob";
+    private static final String TRANSIENT = "javax.persistence.Transient";
+    private static final String NOT_NULL = "javax.validation.constraints.NotNull";
+    private static final String NOT_BLANK = "javax.validation.constraints.NotBlank";
+    private static final String MAPPED_SUPERCLASS = "javax.persistence.MappedSuperclass";
+    // 关联及嵌入注解，被注解的字段不是实体表中的普通列
+    private static final String[] RELATIONS = {
+            "javax.persistence.OneToMany", "javax.persistence.ManyToOne", "javax.persistence.OneToOne", "javax.persistence.ManyToMany",
+            "javax.persistence.ElementCollection", "javax.persistence.Embedded", "javax.persistence.EmbeddedId"
+    };
+    private static final String API_MODEL = "io.swagger.annotations.ApiModel";
+    private static final String API_MODEL_PROPERTY = "io.swagger.annotations.ApiModelProperty";
+
+    private EntityModelReader() {
+    }
+
+    public static EntityModel read(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> doRead(psiClass));
+    }
+
+    private static CachedValueProvider.Result<EntityModel> doRead(PsiClass psiClass) {
+        List<EntityField> fields = new ArrayList<>();
+        for (PsiField field : psiClass.getFields()) {
+            fields.add(readField(field, true));
+        }
+        // 基础模型中的字段，可能来自依赖jar中的类，不要求有ApiModelProperty描述
+        List<EntityField> baseFields = new ArrayList<>();
+        List<Object> dependencies = new ArrayList<>();
+        dependencies.add(psiClass);
+        for (PsiClass superClass = psiClass.getSuperClass(); null != superClass && null != superClass.getAnnotation(MAPPED_SUPERCLASS); superClass = superClass.getSuperClass()) {
+            dependencies.add(superClass);
+            for (PsiField field : superClass.getFields()) {
+                baseFields.add(readField(field, false));
+            }
+        }
+        String description = getDescription(psiClass.getAnnotation(API_MODEL), "description");
+        EntityModel entityModel = new EntityModel(psiClass.getName(), psiClass.getQualifiedName(), description, fields, baseFields);
+        return CachedValueProvider.Result.create(entityModel, dependencies.toArray());
+    }
+
+    private static EntityField readField(PsiField field, boolean descriptionRequired) {
+        String name = field.getName();
+        String qualifiedTypeName = field.getType().getCanonicalText();
+        String description = getDescription(field.getAnnotation(API_MODEL_PROPERTY), "notes");
+        if (null == description) {
+            if (descriptionRequired) {
+                throw new CodeGenerationException("字段" + name + "缺少ApiModelProperty描述");
+            }
+            description = name;
+        }
+        Integer length = null;
+        boolean nullable = true;
+        boolean notNull = false;
+        boolean large = null != field.getAnnotation(LOB);
+        // @Column注解
+        PsiAnnotation columnAnnotation = field.getAnnotation(COLUMN);
+        if (null != columnAnnotation) {
+            PsiAnnotationMemberValue memberValue = columnAnnotation.findAttributeValue("columnDefinition");
+            if (null != memberValue) {
+                String columnDefinition = memberValue.getText();
+                if ("java.lang.String".equals(qualifiedTypeName)) {
+                    // 只有字符串的时候才解析长度
+                    length = ColumnDefinition.getLength(columnDefinition);
+                }
+                nullable = ColumnDefinition.isNullable(columnDefinition);
+                large = large || ColumnDefinition.isLarge(columnDefinition);
+            }
+            notNull = "false".equals(getAttributeText(columnAnnotation, "nullable"));
+        }
+        // 校验注解同样声明非空，只用于滚动分页排序键的校验
+        notNull = notNull || null != field.getAnnotation(NOT_NULL) || null != field.getAnnotation(NOT_BLANK);
+        return new EntityField(name, qualifiedTypeName, null != field.getAnnotation(ID), description, length, nullable, large, isColumn(field, qualifiedTypeName), notNull);
+    }
+
+    private static boolean isColumn(PsiField field, String qualifiedTypeName) {
+        if (field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.TRANSIENT) || null != field.getAnnotation(TRANSIENT)) {
+            return false;
+        }
+        for (String relation : RELATIONS) {
+            if (null != field.getAnnotation(relation)) {
+                return false;
+            }
+        }
+        return !ColumnDefinition.isCollectionType(qualifiedTypeName);
+    }
+
+    /**
+     * 取注解的value，value为空时取备用属性，并去掉引号
+     */
+    private static String getDescription(PsiAnnotation annotation, String fallbackAttribute) {
+        if (null == annotation) {
+            return null;
+        }
+        String description = getAttributeText(annotation, "value");
+        if (null == description || "".equals(description) || "\"\"".equals(description)) {
+            description = getAttributeText(annotation, fallbackAttribute);
+        }
+        return null == description ? null : description.replace("\"", "");
+    }
+
+    private static String getAttributeText(PsiAnnotation annotation, String attribute) {
+        PsiAnnotationMemberValue value = annotation.findAttributeValue(attribute);
+        return null == value ? null : value.getText();
+    }
+}
@@ -0,0 +1,44 @@
+package com.wondernect.plugins.code.generator.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 指纹工具，对若干输入计算SHA-1摘要，用于判断生成输入是否变化
+ **/
+public final class Fingerprints {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Fingerprints() {
+    }
+
+    /**
+     * 按顺序计算所有部分的指纹，各部分之间有分隔，null与空字符串不同
+     */
+    public static String of(Object... parts) {
+        MessageDigest digest = newDigest();
+        for (Object part : parts) {
+            digest.update(null == part ? (byte) 1 : (byte) 0);
+            if (null != part) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        byte[] bytes = digest.digest();
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.wondernect.plugins.code.generator.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 标识符命名转换：首字母大小写、驼峰转下划线
+ * 每种转换只遍历一次字符数组，结果缓存在有界LRU中；首字母已是目标大小写时直接返回原字符串，不分配也不进缓存
+ * 插件与命令行生成器并行生成时共用，线程安全
+ **/
+public final class NamingService {
+
+    private static final int CACHE_CAPACITY = 4096;
+
+    private static final NamingService INSTANCE = new NamingService(CACHE_CAPACITY);
+
+    private final LruCache upperFirstCache;
+    private final LruCache lowerFirstCache;
+    private final LruCache underLineCache;
+
+    private NamingService(int capacity) {
+        this.upperFirstCache = new LruCache(capacity);
+        this.lowerFirstCache = new LruCache(capacity);
+        this.underLineCache = new LruCache(capacity);
+    }
+
+    public static NamingService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 首字母大写，空白字符串返回""
+     */
+    public String firstLetterToUpper(String str) {
+        if (isBlank(str)) {
+            return "";
+        }
+        if (Character.toUpperCase(str.charAt(0)) == str.charAt(0)) {
+            return str;
+        }
+        String result = upperFirstCache.get(str);
+        if (null == result) {
+            char[] chars = str.toCharArray();
+            chars[0] = Character.toUpperCase(chars[0]);
+            result = new String(chars);
+            upperFirstCache.put(str, result);
+        }
+        return result;
+    }
+
+    /**
+     * 首字母小写，空白字符串返回""
+     */
+    public String firstLetterToLower(String str) {
+        if (isBlank(str)) {
+            return "";
+        }
+        if (Character.toLowerCase(str.charAt(0)) == str.charAt(0)) {
+            return str;
+        }
+        String result = lowerFirstCache.get(str);
+        if (null == result) {
+            char[] chars = str.toCharArray();
+            chars[0] = Character.toLowerCase(chars[0]);
+            result = new String(chars);
+            lowerFirstCache.put(str, result);
+        }
+        return result;
+    }
+
+    /**
+     * 驼峰转下划线，如userName转为user_name、HTTPServer转为http_server
+     * 按字符类型分段，大写字母后紧跟小写字母时该大写字母归入后一段；只有一段时只转换首字母，如ID转为iD
+     */
+    public String toUnderLineStr(String str) {
+        if (null == str || str.isEmpty()) {
+            return "";
+        }
+        String result = underLineCache.get(str);
+        if (null == result) {
+            result = splitToUnderLine(str);
+            underLineCache.put(str, result);
+        }
+        return result;
+    }
+
+    private String splitToUnderLine(String str) {
+        int length = str.length();
+        // 最多每个字符前插入一个下划线
+        char[] chars = new char[length * 2];
+        int count = 0;
+        int tokenStart = 0;
+        boolean split = false;
+        int currentType = Character.getType(str.charAt(0));
+        chars[count++] = Character.toLowerCase(str.charAt(0));
+        for (int position = 1; position < length; position++) {
+            char c = str.charAt(position);
+            int type = Character.getType(c);
+            if (type != currentType) {
+                if (type == Character.LOWERCASE_LETTER && currentType == Character.UPPERCASE_LETTER) {
+                    // 前一个大写字母归入新的一段，下划线插在它前面
+                    if (position - 1 != tokenStart) {
+                        chars[count] = chars[count - 1];
+                        chars[count - 1] = '_';
+                        count++;
+                        tokenStart = position - 1;
+                        split = true;
+                    }
+                } else {
+                    chars[count++] = '_';
+                    tokenStart = position;
+                    split = true;
+                }
+                currentType = type;
+            }
+            chars[count++] = Character.toLowerCase(c);
+        }
+        if (!split) {
+            return firstLetterToLower(str);
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static boolean isBlank(String str) {
+        if (null == str) {
+            return true;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按访问顺序淘汰的有界缓存
+     */
+    private static final class LruCache {
+
+        private final Map<String, String> map;
+
+        private LruCache(int capacity) {
+            this.map = new LinkedHashMap<String, String>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized String get(String key) {
+            return map.get(key);
+        }
+
+        private synchronized void put(String key, String value) {
+            map.put(key, value);
+        }
+    }
+}
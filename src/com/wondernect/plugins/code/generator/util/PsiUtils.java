@@ -2,25 +2,39 @@ package com.wondernect.plugins.code.generator.util;
 
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.*;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 
 /**
  * PSI操作辅助类
  **/
 public class PsiUtils {
+    /**
+     * 类查找缓存，挂在module上供同一module下所有实体、所有生成文件共享，Java结构变化时失效
+     */
+    private static final Key<CachedValue<ConcurrentMap<String, Optional<PsiClass>>>> CLASS_CACHE_KEY = Key.create("wondernect.code.generator.class.cache");
+
     private Project project;
+    private Module module;
 
     private PsiUtils(Module module) {
         this.project = module.getProject();
+        this.module = module;
     }
 
     public static PsiUtils of(Module module) {
@@ -90,19 +104,27 @@ public class PsiUtils {
     }
 
     /**
-     * 查找类
+     * 查找类，先在module及其依赖中查找，找不到再查找整个项目，结果按类名缓存
      */
     public Optional<PsiClass> findClass(String className) {
-        return findClass(className, psiClass -> true);
+        return getClassCache().computeIfAbsent(className, name -> {
+            Optional<PsiClass> psiClass = findClass(name, GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module), aClass -> true);
+            return psiClass.isPresent() ? psiClass : findClass(name, GlobalSearchScope.allScope(project), aClass -> true);
+        });
+    }
+
+    private ConcurrentMap<String, Optional<PsiClass>> getClassCache() {
+        return CachedValuesManager.getManager(project).getCachedValue(module, CLASS_CACHE_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT), false);
     }
 
-    private Optional<PsiClass> findClass(String className, Predicate<PsiClass> predicate) {
+    private Optional<PsiClass> findClass(String className, GlobalSearchScope scope, Predicate<PsiClass> predicate) {
         PsiShortNamesCache shortNamesCache = PsiShortNamesCache.getInstance(project);
         int idx = className.lastIndexOf(".");
         if (-1 != idx) {
             String packageName = className.substring(0, idx);
             String name = className.substring(idx + 1);
-            PsiClass[] classes = shortNamesCache.getClassesByName(name, GlobalSearchScope.allScope(project));
+            PsiClass[] classes = shortNamesCache.getClassesByName(name, scope);
 
             if (0 != classes.length) {
                 for (PsiClass aClass : classes) {
@@ -113,7 +135,7 @@ public class PsiUtils {
                 }
             }
         } else {
-            PsiClass[] classes = shortNamesCache.getClassesByName(className, GlobalSearchScope.allScope(project));
+            PsiClass[] classes = shortNamesCache.getClassesByName(className, scope);
             if (0 != classes.length) {
                 for (PsiClass aClass : classes) {
                     if (predicate.test(aClass)) {
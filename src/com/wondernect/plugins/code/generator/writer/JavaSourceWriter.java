@@ -0,0 +1,214 @@
+package com.wondernect.plugins.code.generator.writer;
+
+import java.util.*;
+
+/**
+ * Java源码写入器
+ * 只负责导入以及嵌入模板的注解与字段，类与方法的结构由模板给出；
+ * 所有内容追加到同一个缓冲区，按片段的层级缩进；
+ * 类型通过importType登记，返回源码中应使用的名称(已导入的简单名，或与已有导入冲突时的全限定名)，泛型参数中的类型同样处理；
+ * 不带包名的类型(如尚未生成的DTO)记为简单名，由调用方在写入阶段通过索引解析；
+ * 最终源码只保留正文中实际引用到的导入
+ **/
+public class JavaSourceWriter {
+
+    private static final String INDENT = "    ";
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "void", "boolean", "byte", "char", "short", "int", "long", "float", "double", "extends", "super"));
+    private static final Set<String> JAVA_LANG = new HashSet<>(Arrays.asList(
+            "Object", "String", "Boolean", "Byte", "Character", "Short", "Integer", "Long", "Float", "Double", "Number", "Void", "Class", "Enum", "Iterable", "Comparable"));
+
+    // 简单名 -> 全限定名，片段与所属写入器共享
+    private final Map<String, String> imports;
+    private final Set<String> simpleNames;
+    private final StringBuilder buffer;
+    private final int indent;
+
+    public JavaSourceWriter() {
+        this(new TreeMap<>(), new LinkedHashSet<>(), 0, 2048);
+    }
+
+    private JavaSourceWriter(Map<String, String> imports, Set<String> simpleNames, int indent, int capacity) {
+        this.imports = imports;
+        this.simpleNames = simpleNames;
+        this.indent = indent;
+        this.buffer = new StringBuilder(capacity);
+    }
+
+    /**
+     * 创建共享导入的片段，用于生成嵌入模板的成员等内容
+     *
+     * @param indent 片段的初始缩进层级
+     */
+    public JavaSourceWriter fragment(int indent) {
+        return new JavaSourceWriter(imports, simpleNames, indent, 1024);
+    }
+
+    /**
+     * 登记类型并返回源码中使用的名称，如java.util.List<java.lang.String>返回List<String>
+     */
+    public String importType(String type) {
+        if (null == type) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(type.length());
+        int length = type.length();
+        int i = 0;
+        while (i < length) {
+            char c = type.charAt(i);
+            if (!Character.isJavaIdentifierStart(c)) {
+                result.append(c);
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && (Character.isJavaIdentifierPart(type.charAt(i)) || (type.charAt(i) == '.' && i + 1 < length && Character.isJavaIdentifierStart(type.charAt(i + 1))))) {
+                i++;
+            }
+            result.append(importName(type.substring(start, i)));
+        }
+        return result.toString();
+    }
+
+    private String importName(String name) {
+        int idx = name.lastIndexOf('.');
+        if (-1 == idx) {
+            if (!KEYWORDS.contains(name) && !JAVA_LANG.contains(name) && !imports.containsKey(name)) {
+                simpleNames.add(name);
+            }
+            return name;
+        }
+        String simpleName = name.substring(idx + 1);
+        if ("java.lang".equals(name.substring(0, idx))) {
+            return simpleName;
+        }
+        String imported = imports.putIfAbsent(simpleName, name);
+        if (null != imported && !imported.equals(name)) {
+            // 简单名已被其他类占用，使用全限定名
+            return name;
+        }
+        simpleNames.remove(simpleName);
+        return simpleName;
+    }
+
+    /**
+     * 登记多个类型，用于模板正文中用到的类型
+     */
+    public JavaSourceWriter importTypes(String... types) {
+        for (String type : types) {
+            importType(type);
+        }
+        return this;
+    }
+
+    /**
+     * 写入一行，按片段的缩进层级缩进
+     */
+    private JavaSourceWriter line(String text) {
+        for (int i = 0; i < indent; i++) {
+            buffer.append(INDENT);
+        }
+        buffer.append(text).append('\n');
+        return this;
+    }
+
+    public JavaSourceWriter blankLine() {
+        buffer.append('\n');
+        return this;
+    }
+
+    /**
+     * 原样追加已排版的内容，如模板渲染结果
+     */
+    public JavaSourceWriter append(String text) {
+        buffer.append(text);
+        return this;
+    }
+
+    public JavaSourceWriter annotation(String type) {
+        return line("@" + importType(type));
+    }
+
+    public JavaSourceWriter annotation(String type, String arguments) {
+        return line("@" + importType(type) + "(" + arguments + ")");
+    }
+
+    public JavaSourceWriter field(String modifiers, String type, String name) {
+        return line(modifiers + " " + importType(type) + " " + name + ";");
+    }
+
+    public boolean isEmpty() {
+        return buffer.length() == 0;
+    }
+
+    /**
+     * 正文内容，片段嵌入模板时使用，不含末尾换行
+     */
+    @Override
+    public String toString() {
+        int end = buffer.length();
+        while (end > 0 && buffer.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return buffer.substring(0, end);
+    }
+
+    /**
+     * 完整源码：正文引用到的导入 + 正文
+     */
+    public String toSource() {
+        String body = buffer.toString();
+        Set<String> identifiers = identifiers(body);
+        StringBuilder source = new StringBuilder(body.length() + imports.size() * 48);
+        for (Map.Entry<String, String> entry : new TreeMap<>(invert(imports)).entrySet()) {
+            if (identifiers.contains(entry.getValue())) {
+                source.append("import ").append(entry.getKey()).append(";\n");
+            }
+        }
+        if (source.length() > 0) {
+            source.append('\n');
+        }
+        return source.append(body).toString();
+    }
+
+    /**
+     * 正文引用到的、需要调用方解析的简单名
+     */
+    public Set<String> getSimpleNames() {
+        Set<String> identifiers = identifiers(buffer.toString());
+        Set<String> result = new LinkedHashSet<>();
+        for (String simpleName : simpleNames) {
+            if (identifiers.contains(simpleName)) {
+                result.add(simpleName);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, String> invert(Map<String, String> map) {
+        Map<String, String> result = new HashMap<>();
+        map.forEach((key, value) -> result.put(value, key));
+        return result;
+    }
+
+    /**
+     * 单次扫描收集源码中出现的所有标识符
+     */
+    private static Set<String> identifiers(String content) {
+        Set<String> identifiers = new HashSet<>();
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            if (Character.isJavaIdentifierStart(content.charAt(i))) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(content.charAt(i))) {
+                    i++;
+                }
+                identifiers.add(content.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return identifiers;
+    }
+}